@@ -1,15 +1,20 @@
 package com.office;
 
+import com.office.config.StartupReport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 
 @SpringBootApplication
 @EnableWebSocket
+@EnableScheduling
 public class AdminApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AdminApplication.class, args);
+        SpringApplication application = new SpringApplication(AdminApplication.class);
+        application.setApplicationStartup(StartupReport.applicationStartup());
+        application.run(args);
     }
 
 }
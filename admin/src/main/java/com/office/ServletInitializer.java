@@ -1,5 +1,6 @@
 package com.office;
 
+import com.office.config.StartupReport;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 
@@ -7,7 +8,7 @@ public class ServletInitializer extends SpringBootServletInitializer {
 
     @Override
     protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
-        return application.sources(AdminApplication.class);
+        return application.sources(AdminApplication.class).applicationStartup(StartupReport.applicationStartup());
     }
 
 }
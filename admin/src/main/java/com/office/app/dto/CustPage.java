@@ -0,0 +1,19 @@
+package com.office.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustPage {
+    private List<CustDto> custs;
+    private String nextCursor;   // 다음 페이지 커서, 마지막 페이지면 null
+    private long total;          // 전체 건수 (캐시된 값), 요청하지 않았으면 -1
+    private int size;
+}
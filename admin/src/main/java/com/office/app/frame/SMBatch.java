@@ -0,0 +1,21 @@
+package com.office.app.frame;
+
+import java.util.List;
+
+// 대량 처리 시 목록을 chunkSize 단위로 잘라서 넘긴다 (SQL 길이, max_allowed_packet 제한)
+public class SMBatch {
+
+    public interface Chunk<T> {
+        void accept(List<T> chunk) throws Exception;
+    }
+
+    public static <T> void chunked(List<T> values, int chunkSize, Chunk<T> chunk) throws Exception {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        int size = Math.max(1, chunkSize);
+        for (int from = 0; from < values.size(); from += size) {
+            chunk.accept(values.subList(from, Math.min(values.size(), from + size)));
+        }
+    }
+}
@@ -14,4 +14,12 @@ public interface SMRepository<K, V> {
 
     List<V> select() throws Exception;
 
+    // 여러 건을 SQL 한 번으로 처리 (multi-row INSERT, CASE UPDATE, IN DELETE)
+    // 한 번에 넘기는 건수는 서비스에서 SMBatch.chunked 로 나눈다
+    void insertAll(List<V> values) throws Exception;
+
+    void updateAll(List<V> values) throws Exception;
+
+    void deleteAll(List<K> keys) throws Exception;
+
 }
@@ -0,0 +1,146 @@
+package com.office.app.frame;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.BeanUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// SMRepository 앞에 붙는 캐시 프록시.
+//  - selectOne(key), select() 결과를 캐시한다 (크기 제한, TTL, W-TinyLFU 교체)
+//  - insert*/update*/delete* 이후에는 관련 항목을 지우고, 트랜잭션 중이면 커밋 후에 한 번 더 지운다
+//    (커밋 전에 다른 요청이 옛 값을 다시 캐시에 넣는 경우 방지)
+//  - 그 외 메서드(getPage, findByName 등)는 그대로 통과
+//  - 캐시에 든 DTO 는 여러 요청이 같이 보므로, 돌려줄 때마다 복사본을 만든다 (호출한 쪽이 setXxx 로 고쳐도 캐시는 그대로)
+public class SMRepositoryCache implements InvocationHandler {
+    private static final Object ALL = new Object();
+
+    private final Object target;
+    private final Cache<Object, Object> cache;
+
+    private SMRepositoryCache(Object target, Cache<Object, Object> cache) {
+        this.target = target;
+        this.cache = cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(T target, Class<?>[] interfaces, Cache<Object, Object> cache) {
+        return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces,
+                new SMRepositoryCache(target, cache));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        int argc = args == null ? 0 : args.length;
+
+        if (method.getDeclaringClass() == Object.class) {
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return call(method, args);
+        }
+        if (name.equals("selectOne") && argc == 1 && args[0] != null) {
+            Object value = cache.getIfPresent(args[0]);
+            if (value == null) {
+                value = call(method, args);
+                if (value != null) {
+                    cache.put(args[0], value);
+                }
+            }
+            return copy(value);
+        }
+        if (name.equals("select") && argc == 0) {
+            Object value = cache.getIfPresent(ALL);
+            if (value == null) {
+                value = call(method, args);
+                if (value instanceof List<?> list) {
+                    value = Collections.unmodifiableList(new ArrayList<>(list));
+                    cache.put(ALL, value);
+                }
+            }
+            return copy(value);
+        }
+        if (name.startsWith("insert") || name.startsWith("update") || name.startsWith("delete")) {
+            Object key = name.equals("delete") && argc == 1 ? args[0] : null;
+            try {
+                return call(method, args);
+            } finally {
+                evict(key);
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            evict(key);
+                        }
+                    });
+                }
+            }
+        }
+        return call(method, args);
+    }
+
+    // 단건 삭제는 해당 키와 목록만, 나머지 쓰기는 값에서 키를 알 수 없으므로 전체를 비운다
+    private void evict(Object key) {
+        if (key != null) {
+            cache.invalidate(key);
+            cache.invalidate(ALL);
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    // 기본 생성자가 있는 빈은 읽기/쓰기 프로퍼티를 하나씩 (안쪽 DTO 까지) 복사한다.
+    // String, 숫자, 날짜, enum 같은 값 타입과 기본 생성자가 없는 객체(MultipartFile 등)는 그대로 쓴다
+    static Object copy(Object value) {
+        if (value == null || BeanUtils.isSimpleValueType(value.getClass())) {
+            return value;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copies = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copies.add(copy(item));
+            }
+            return copies;
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = value.getClass().getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return value;
+        }
+        Object copy = BeanUtils.instantiateClass(constructor);
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(value.getClass())) {
+            Method read = property.getReadMethod();
+            Method write = property.getWriteMethod();
+            if (read != null && write != null) {
+                try {
+                    write.invoke(copy, copy(read.invoke(value)));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot copy cached " + value.getClass().getSimpleName() + "." + property.getName(), e);
+                }
+            }
+        }
+        return copy;
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -15,4 +15,11 @@ public interface SMService<K, V> {
     V get(K key) throws Exception;
 
     List<V> get() throws Exception;
+
+    @Transactional
+    void addAll(List<V> values) throws Exception;
+    @Transactional
+    void modifyAll(List<V> values) throws Exception;
+    @Transactional
+    void deleteAll(List<K> keys) throws Exception;
 }
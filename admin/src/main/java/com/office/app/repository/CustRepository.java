@@ -1,10 +1,10 @@
 package com.office.app.repository;
 
-import com.github.pagehelper.Page;
 import com.office.app.dto.CustDto;
 import com.office.app.dto.Search;
 import com.office.app.frame.SMRepository;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +13,10 @@ import java.util.List;
 @Mapper
 public interface CustRepository extends SMRepository<String, CustDto> {
     List<CustDto> findByName(String name);
-    Page<CustDto> getPage() throws Exception;
-    Page<CustDto> getFindPage(Search search) throws Exception;
+    // cust_id > cursor 인 다음 size 건 (cursor 가 null 이면 처음부터)
+    List<CustDto> getPage(@Param("cursor") String cursor, @Param("size") int size) throws Exception;
+    List<CustDto> getFindPage(@Param("cursor") String cursor, @Param("size") int size,
+                              @Param("search") Search search) throws Exception;
+    long count(@Param("search") Search search) throws Exception;
 
 }
\ No newline at end of file
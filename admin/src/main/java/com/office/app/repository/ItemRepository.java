@@ -5,8 +5,15 @@ import com.office.app.frame.SMRepository;
 import org.apache.ibatis.annotations.Mapper;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 @Repository
 @Mapper
 public interface ItemRepository extends SMRepository<Integer, ItemDto> {
+    // 같은 이미지 파일을 가리키는 상품 수. 0 이 되면 파일을 지운다
+    int countByImgName(String imgName) throws Exception;
+
+    // 여러 상품의 이미지 파일명 (중복, null 제외)
+    List<String> selectImgNames(List<Integer> itemIds) throws Exception;
 }
\ No newline at end of file
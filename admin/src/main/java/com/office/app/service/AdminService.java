@@ -2,9 +2,11 @@ package com.office.app.service;
 
 
 import com.office.app.dto.AdminDto;
+import com.office.app.frame.SMBatch;
 import com.office.app.frame.SMService;
 import com.office.app.repository.AdminRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,9 @@ public class AdminService implements SMService<String, AdminDto> {
 
     private final AdminRepository adminRepository;
 
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize;
+
     @Override
     public void add(AdminDto adminDto) throws Exception {
     }
@@ -25,6 +30,23 @@ public class AdminService implements SMService<String, AdminDto> {
 
     @Override
     public void modify(AdminDto adminDto) throws Exception {
+        adminRepository.update(adminDto);
+    }
+
+    // 관리자 계정은 화면에서 만들거나 지우지 않는다 (adminmapper 에 insert/delete 가 없다)
+    @Override
+    public void addAll(List<AdminDto> adminDtos) throws Exception {
+        throw new UnsupportedOperationException("admin accounts cannot be added in bulk");
+    }
+
+    @Override
+    public void modifyAll(List<AdminDto> adminDtos) throws Exception {
+        SMBatch.chunked(adminDtos, chunkSize, adminRepository::updateAll);
+    }
+
+    @Override
+    public void deleteAll(List<String> ids) throws Exception {
+        throw new UnsupportedOperationException("admin accounts cannot be deleted in bulk");
     }
 
     @Override
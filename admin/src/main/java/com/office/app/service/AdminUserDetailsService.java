@@ -0,0 +1,65 @@
+package com.office.app.service;
+
+import com.office.app.dto.AdminDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// 로그인 사용자 조회. AdminRepository.selectOne 은 SMRepository 캐시를 거치므로
+// 배포 직후 로그인이 몰려도 같은 id 의 admin_user JOIN admin_role 조회는 TTL 동안 한 번만 나간다.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AdminUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final AdminService adminService;
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        AdminDto adminDto;
+        try {
+            adminDto = adminService.get(username);
+        } catch (Exception e) {
+            throw new UsernameNotFoundException(username, e);
+        }
+        if (adminDto == null) {
+            throw new UsernameNotFoundException(username);
+        }
+        return new AdminUser(adminDto);
+    }
+
+    // 평문/낮은 cost 비밀번호로 로그인에 성공하면 새 해시로 바꿔 저장한다
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AdminDto adminDto = ((AdminUser) user).getAdmin();
+        AdminDto updated = AdminDto.builder().id(adminDto.getId()).pwd(newPassword).role(adminDto.getRole()).build();
+        try {
+            adminService.modify(updated);
+        } catch (Exception e) {
+            log.warn("Password upgrade failed: {} {}", adminDto.getId(), e.getMessage());
+            return user;
+        }
+        return new AdminUser(updated);
+    }
+
+    // 세션의 "admin" 속성으로 쓰는 AdminDto 를 같이 들고 있는 UserDetails
+    @Getter
+    public static class AdminUser extends User {
+        private final AdminDto admin;
+
+        public AdminUser(AdminDto admin) {
+            super(admin.getId(), admin.getPwd(), admin.getRole() == null ? List.of()
+                    : List.of(new SimpleGrantedAuthority("ROLE_" + admin.getRole().getRoleId())));
+            this.admin = admin;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.office.app.service;
+
+import com.office.app.dto.CustDto;
+import com.office.app.repository.CustRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// cust_id / cust_name 부분 문자열 검색용 메모리 n-gram 인덱스.
+// LIKE '%검색어%' 는 인덱스를 못 타서 매번 전체 스캔이 되므로, 1-gram/2-gram 역색인으로 후보를 좁힌 뒤 확인한다.
+// CustService 의 add/modify/delete 가 커밋된 뒤에 같이 갱신하고, 시작할 때 전체를 한 번 읽는다.
+// 아직 로딩되지 않았거나 app.cust.search.index-enabled=false 이면 CustService 는 DB 검색을 사용한다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CustSearchIndex {
+    public static final String ID = "id";
+    public static final String NAME = "name";
+
+    private final CustRepository custRepository;
+
+    @Value("${app.cust.search.index-enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, CustDto> custs = new TreeMap<>();
+    // gram -> id 순으로 정렬된 포스팅. 페이지를 찾을 때 정렬하지 않고 after 다음부터 읽는다
+    private final Map<String, NavigableSet<String>> idGrams = new HashMap<>();
+    private final Map<String, NavigableSet<String>> nameGrams = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<CustDto> all = custRepository.select();
+            lock.writeLock().lock();
+            try {
+                custs.clear();
+                idGrams.clear();
+                nameGrams.clear();
+                all.forEach(this::index);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Cust search index loaded: {} rows", all.size());
+        } catch (Exception e) {
+            log.warn("Cust search index not loaded, using DB search: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public static boolean supports(String field) {
+        return ID.equals(field) || NAME.equals(field);
+    }
+
+    public void put(CustDto cust) {
+        CustDto copy = CustDto.builder().custId(cust.getCustId()).custPwd(cust.getCustPwd()).custName(cust.getCustName()).build();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(copy.getCustId());
+                index(copy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(String custId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(custId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // field 에 q 가 포함된 고객 중 cust_id > after 인 것을 id 순으로 limit 건 (limit 건을 찾으면 멈춘다)
+    public List<CustDto> search(String field, String q, String after, int limit) {
+        lock.readLock().lock();
+        try {
+            String query = normalize(q);
+            NavigableSet<String> candidates = candidates(field, query);
+            List<CustDto> result = new ArrayList<>();
+            for (String id : after == null ? candidates : candidates.tailSet(after, false)) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                CustDto cust = custs.get(id);
+                if (query.isEmpty() || text(cust, field).contains(query)) {
+                    result.add(cust);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(String field, String q) {
+        lock.readLock().lock();
+        try {
+            String query = normalize(q);
+            NavigableSet<String> candidates = candidates(field, query);
+            if (query.isEmpty()) {
+                return candidates.size();
+            }
+            long n = 0;
+            for (String id : candidates) {
+                if (text(custs.get(id), field).contains(query)) {
+                    n++;
+                }
+            }
+            return n;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String q) {
+        return q == null ? "" : q.toLowerCase(Locale.ROOT);
+    }
+
+    // query 를 포함할 수도 있는 id (id 순). gram 중 포스팅이 가장 짧은 것을 쓰고, 빈 검색어면 전체
+    private NavigableSet<String> candidates(String field, String query) {
+        if (query.isEmpty()) {
+            return custs.navigableKeySet();
+        }
+        Map<String, NavigableSet<String>> grams = ID.equals(field) ? idGrams : nameGrams;
+        NavigableSet<String> candidates = null;
+        for (String gram : grams(query, query.length() == 1 ? 1 : 2)) {
+            NavigableSet<String> postings = grams.getOrDefault(gram, Collections.emptyNavigableSet());
+            if (candidates == null || postings.size() < candidates.size()) {
+                candidates = postings;
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private void index(CustDto cust) {
+        custs.put(cust.getCustId(), cust);
+        for (String gram : allGrams(text(cust, ID))) {
+            idGrams.computeIfAbsent(gram, g -> new TreeSet<>()).add(cust.getCustId());
+        }
+        for (String gram : allGrams(text(cust, NAME))) {
+            nameGrams.computeIfAbsent(gram, g -> new TreeSet<>()).add(cust.getCustId());
+        }
+    }
+
+    private void unindex(String custId) {
+        CustDto old = custs.remove(custId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : allGrams(text(old, ID))) {
+            removePosting(idGrams, gram, custId);
+        }
+        for (String gram : allGrams(text(old, NAME))) {
+            removePosting(nameGrams, gram, custId);
+        }
+    }
+
+    private void removePosting(Map<String, NavigableSet<String>> grams, String gram, String custId) {
+        NavigableSet<String> postings = grams.get(gram);
+        if (postings != null) {
+            postings.remove(custId);
+            if (postings.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private String text(CustDto cust, String field) {
+        String value = ID.equals(field) ? cust.getCustId() : cust.getCustName();
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> allGrams(String text) {
+        Set<String> grams = grams(text, 1);
+        grams.addAll(grams(text, 2));
+        return grams;
+    }
+
+    private static Set<String> grams(String text, int n) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + n <= text.length(); i++) {
+            grams.add(text.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영 (롤백되면 인덱스도 그대로)
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.office.app.service;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.office.app.dto.CustDto;
+import com.office.app.dto.CustPage;
 import com.office.app.dto.Search;
 import com.office.app.frame.SMService;
 import com.office.app.repository.CustRepository;
+import com.office.app.frame.SMBatch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -16,20 +22,36 @@ import java.util.List;
 public class CustService implements SMService<String, CustDto> {
 
     final CustRepository custRepository;
+    final CustSearchIndex custSearchIndex;
+
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize;
+
+    // 페이지마다 COUNT(*) 를 다시 하지 않도록 검색 조건별 건수를 잠시 보관한다
+    private final Cache<String, Long> counts = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
 
     @Override
     public void add(CustDto custDto) throws Exception {
         custRepository.insert(custDto);
+        custSearchIndex.put(custDto);
+        counts.invalidateAll();
     }
 
     @Override
     public void modify(CustDto custDto) throws Exception {
         custRepository.update(custDto);
+        custSearchIndex.put(custDto);
+        counts.invalidateAll();   // 이름이 바뀌면 검색 조건별 건수도 바뀐다
     }
 
     @Override
     public void delete(String s) throws Exception {
         custRepository.delete(s);
+        custSearchIndex.remove(s);
+        counts.invalidateAll();
     }
 
     @Override
@@ -42,17 +64,86 @@ public class CustService implements SMService<String, CustDto> {
         return custRepository.select();
     }
 
+    @Override
+    public void addAll(List<CustDto> custs) throws Exception {
+        SMBatch.chunked(custs, chunkSize, custRepository::insertAll);
+        custs.forEach(custSearchIndex::put);
+        counts.invalidateAll();
+    }
+
+    @Override
+    public void modifyAll(List<CustDto> custs) throws Exception {
+        SMBatch.chunked(custs, chunkSize, custRepository::updateAll);
+        custs.forEach(custSearchIndex::put);
+        counts.invalidateAll();
+    }
+
+    @Override
+    public void deleteAll(List<String> ids) throws Exception {
+        SMBatch.chunked(ids, chunkSize, custRepository::deleteAll);
+        ids.forEach(custSearchIndex::remove);
+        counts.invalidateAll();
+    }
+
     public List<CustDto> findByName(String name) throws Exception {
+        if (custSearchIndex.isReady()) {
+            return custSearchIndex.search(CustSearchIndex.NAME, name, null, Integer.MAX_VALUE);
+        }
         return custRepository.findByName(name);
     }
 
-    public Page<CustDto> getPage(int pageNo) throws  Exception{
-        PageHelper.startPage(pageNo,3);
-        return custRepository.getPage();
+    // keyset 페이징. cursor 는 이전 페이지의 nextCursor (처음이면 null)
+    public CustPage getPage(String cursor, int size, boolean withTotal) throws Exception {
+        return getFindPage(cursor, size, null, withTotal);
+    }
+
+    public CustPage getFindPage(String cursor, int size, Search search, boolean withTotal) throws Exception {
+        String after = decodeCursor(cursor);
+        // 한 건 더 읽어서 다음 페이지가 있는지 확인한다
+        List<CustDto> custs;
+        if (search != null && custSearchIndex.isReady()) {
+            custs = custSearchIndex.search(search.getKeyword(), query(search), after, size + 1);
+        } else {
+            custs = search == null
+                    ? custRepository.getPage(after, size + 1)
+                    : custRepository.getFindPage(after, size + 1, search);
+        }
+        String next = null;
+        if (custs.size() > size) {
+            custs = custs.subList(0, size);
+            next = encodeCursor(custs.get(size - 1).getCustId());
+        }
+        long total = withTotal ? count(search) : -1;
+        return CustPage.builder().custs(custs).nextCursor(next).total(total).size(size).build();
+    }
+
+    private long count(Search search) throws Exception {
+        if (search != null && custSearchIndex.isReady()) {
+            return custSearchIndex.count(search.getKeyword(), query(search));
+        }
+        String key = search == null ? "" : search.getKeyword() + ":" + search.getSearch();
+        Long total = counts.getIfPresent(key);
+        if (total == null) {
+            total = custRepository.count(search);
+            counts.put(key, total);
+        }
+        return total;
     }
-    public Page<CustDto> getFindPage(int pageNo, Search search) throws  Exception{
-        PageHelper.startPage(pageNo,2);
-        return custRepository.getFindPage(search);
+
+    // mapper 의 searchCondition 과 같이, id/name 이 아닌 keyword 는 조건 없음으로 본다
+    private String query(Search search) {
+        return CustSearchIndex.supports(search.getKeyword()) ? search.getSearch() : null;
+    }
+
+    private String encodeCursor(String custId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(custId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
     }
 
-}
\ No newline at end of file
+}
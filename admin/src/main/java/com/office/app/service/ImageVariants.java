@@ -0,0 +1,191 @@
+package com.office.app.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+
+// 상품 이미지의 축소본(thumb/, medium/)을 업로드 뒤에 별도 작업 스레드에서 만든다.
+// 파일명은 원본과 같고 (내용 해시), 아직 없으면 /imgs/thumb/** 가 원본을 대신 내보낸다.
+@Component
+@Slf4j
+public class ImageVariants {
+    public static final String THUMB = "thumb";
+    public static final String MEDIUM = "medium";
+
+    @Value("${app.dir.uploadimgdir}")
+    private String uploadimgdir;
+    @Value("${app.image.thumb-width:200}")
+    private int thumbWidth;
+    @Value("${app.image.medium-width:800}")
+    private int mediumWidth;
+    @Value("${app.image.jpeg-quality:0.8}")
+    private float jpegQuality;
+    @Value("${app.image.workers:2}")
+    private int workers;
+    @Value("${app.image.queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${app.image.max-pixels:40000000}")
+    private long maxPixels;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(uploadimgdir, THUMB));
+        Files.createDirectories(Paths.get(uploadimgdir, MEDIUM));
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("image-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 큐가 가득 차면 건너뛴다. 축소본이 없어도 원본으로 보이므로 업로드를 막지 않는다
+    public void generate(String imgname) {
+        try {
+            executor.execute(() -> {
+                try {
+                    write(imgname, THUMB, thumbWidth);
+                    write(imgname, MEDIUM, mediumWidth);
+                } catch (Exception e) {
+                    log.warn("Image variant failed: {} {}", imgname, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant skipped, queue full: {}", imgname);
+        }
+    }
+
+    public void delete(String imgname) throws IOException {
+        Files.deleteIfExists(Paths.get(uploadimgdir, THUMB, imgname));
+        Files.deleteIfExists(Paths.get(uploadimgdir, MEDIUM, imgname));
+    }
+
+    private void write(String imgname, String variant, int width) throws IOException {
+        Path target = Paths.get(uploadimgdir, variant, imgname);
+        if (Files.exists(target)) {
+            return;
+        }
+        // 원본 형식 그대로 쓴다 (확장자와 Content-Type 이 맞아야 하므로). gif 는 애니메이션이 깨지므로 원본을 쓴다
+        String format = format(imgname);
+        if (format == null) {
+            return;
+        }
+        BufferedImage src = read(Paths.get(uploadimgdir, imgname));
+        if (src == null) {
+            return;
+        }
+        BufferedImage image = src.getWidth() <= width ? src : resize(src, width, "jpeg".equals(format));
+        Path tmp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            if ("jpeg".equals(format)) {
+                writeJpeg(image, tmp);
+            } else {
+                ImageIO.write(image, format, tmp.toFile());
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 헤더에서 크기만 먼저 읽고, max-pixels 를 넘으면 디코딩하지 않는다 (작은 파일이 거대한 비트맵으로 풀리는 경우)
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image variant skipped, {}x{} exceeds {} pixels: {}",
+                            reader.getWidth(0), reader.getHeight(0), maxPixels, file.getFileName());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage src, int width, boolean opaque) {
+        int height = Math.max(1, Math.round((float) src.getHeight() * width / src.getWidth()));
+        BufferedImage dst = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private void writeJpeg(BufferedImage image, Path out) throws IOException {
+        if (image.getColorModel().hasAlpha()) {
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            image = rgb;
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out.toFile())) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private String format(String imgname) {
+        String ext = imgname.substring(imgname.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        switch (ext) {
+            case "jpg":
+            case "jpeg":
+                return "jpeg";
+            case "png":
+            case "bmp":
+                return ext;
+            default:
+                return null;
+        }
+    }
+}
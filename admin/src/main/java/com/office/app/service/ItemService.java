@@ -1,6 +1,7 @@
 package com.office.app.service;
 
 import com.office.app.dto.ItemDto;
+import com.office.app.frame.SMBatch;
 import com.office.app.frame.SMService;
 import com.office.app.repository.ItemRepository;
 import com.office.util.FileUploadUtil;
@@ -8,8 +9,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
 @RequiredArgsConstructor
@@ -17,37 +23,92 @@ import java.util.List;
 public class ItemService implements SMService<Integer, ItemDto> {
 
     final ItemRepository itemRepository;
+    final ImageVariants imageVariants;
 
     @Value("${app.dir.uploadimgdir}")
     private String uploadimgdir;
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize;
 
+    // 이미지 파일을 새로 가리키는 쪽(add/modify)은 읽기 락을 트랜잭션이 끝날 때까지 잡고,
+    // 지우는 쪽은 커밋 뒤 쓰기 락 안에서 참조 수를 다시 센다. 같은 해시를 올리는 중인 add 가 있으면 그 커밋을 기다린다
+    private final ReentrantReadWriteLock imageLock = new ReentrantReadWriteLock();
+
+    // 이미지는 내용 해시로 저장한다 (FileUploadUtil.saveHashed). 같은 이미지는 파일 하나를 같이 쓰고,
+    // 그 파일을 가리키는 상품이 없어졌을 때만 지운다
     @Override
     public void add(ItemDto itemDto) throws Exception {
-        FileUploadUtil.saveFile(itemDto.getImage(),uploadimgdir);
-        itemRepository.insert(itemDto);
+        if(itemDto.getImage() == null || itemDto.getImage().isEmpty()){
+            itemDto.setImgName(null);
+            itemRepository.insert(itemDto);
+            return;
+        }
+        boolean deferred = lockImages();
+        try {
+            itemDto.setImgName(FileUploadUtil.saveHashed(itemDto.getImage(),uploadimgdir));
+            imageVariants.generate(itemDto.getImgName());
+            itemRepository.insert(itemDto);
+        } finally {
+            if (!deferred) {
+                imageLock.readLock().unlock();
+            }
+        }
     }
 
+    // 기존 이미지 이름은 화면의 hidden 값이 아니라 DB 에서 읽는다
     @Override
     public void modify(ItemDto itemDto) throws Exception {
-        if(itemDto.getImage().isEmpty()){
+        ItemDto old = itemRepository.selectOne(itemDto.getItemId());
+        String oldimg = old == null ? null : old.getImgName();
+        if(itemDto.getImage() == null || itemDto.getImage().isEmpty()){
+            itemDto.setImgName(oldimg);
             itemRepository.update(itemDto);
-        }else{
-            String oldimg = itemDto.getImgName();
-            itemDto.setImgName(itemDto.getImage().getOriginalFilename());
+            return;
+        }
+        boolean deferred = lockImages();
+        try {
+            itemDto.setImgName(FileUploadUtil.saveHashed(itemDto.getImage(),uploadimgdir));
+            imageVariants.generate(itemDto.getImgName());
             itemRepository.update(itemDto);
-
-            FileUploadUtil.saveFile(itemDto.getImage(),uploadimgdir);
-            FileUploadUtil.deleteFile(oldimg,uploadimgdir);
+        } finally {
+            if (!deferred) {
+                imageLock.readLock().unlock();
+            }
+        }
+        if (oldimg != null && !oldimg.equals(itemDto.getImgName())) {
+            release(oldimg);
         }
     }
 
     @Override
     public void delete(Integer key) throws Exception {
-        String imgname = itemRepository.selectOne(key).getImgName();
-        FileUploadUtil.deleteFile(imgname,uploadimgdir);
+        ItemDto item = itemRepository.selectOne(key);
         itemRepository.delete(key);
+        if (item != null) {
+            release(item.getImgName());
+        }
+    }
+
+    // 대량 등록/수정은 이미지 업로드 없이 imgName 이 이미 올라가 있는 파일을 가리킨다고 가정한다
+    @Override
+    public void addAll(List<ItemDto> items) throws Exception {
+        SMBatch.chunked(items, chunkSize, itemRepository::insertAll);
     }
 
+    @Override
+    public void modifyAll(List<ItemDto> items) throws Exception {
+        SMBatch.chunked(items, chunkSize, itemRepository::updateAll);
+    }
+
+    @Override
+    public void deleteAll(List<Integer> keys) throws Exception {
+        Set<String> imgnames = new HashSet<>();
+        SMBatch.chunked(keys, chunkSize, chunk -> imgnames.addAll(itemRepository.selectImgNames(chunk)));
+        SMBatch.chunked(keys, chunkSize, itemRepository::deleteAll);
+        for (String imgname : imgnames) {
+            release(imgname);
+        }
+    }
 
     @Override
     public ItemDto get(Integer key) throws Exception {
@@ -58,4 +119,53 @@ public class ItemService implements SMService<Integer, ItemDto> {
     public List<ItemDto> get() throws Exception {
         return itemRepository.select();
     }
+
+    // 읽기 락을 잡는다. 트랜잭션 안이면 끝날 때 풀도록 등록하고 true, 아니면 호출한 쪽이 풀어야 한다
+    private boolean lockImages() {
+        imageLock.readLock().lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                imageLock.readLock().unlock();
+            }
+        });
+        return true;
+    }
+
+    // 커밋된 뒤 더 이상 가리키는 상품이 없으면 이미지 파일 삭제 (롤백되면 지우지 않는다).
+    // modify 에서는 lockImages 의 해제가 먼저 등록되어 있으므로 읽기 락을 푼 뒤에 실행된다.
+    // saveHashed 로 만든 이름이 아니면(이전 방식의 원본 파일명 등) 건드리지 않는다
+    private void release(String imgname) {
+        if (!FileUploadUtil.isHashedName(imgname)) {
+            return;
+        }
+        Runnable task = () -> {
+            imageLock.writeLock().lock();
+            try {
+                if (itemRepository.countByImgName(imgname) == 0) {
+                    FileUploadUtil.deleteIfExists(imgname, uploadimgdir);
+                    imageVariants.delete(imgname);
+                }
+            } catch (Exception e) {
+                log.warn("Image release failed: {} {}", imgname, e.getMessage());
+            } finally {
+                imageLock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        task.run();
+                    }
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.office.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+// admin_user.pwd 용 encoder. 새로 저장하는 비밀번호는 BCrypt 이고,
+// 예전에 평문으로 저장된 비밀번호도 맞춰 본 뒤 upgradeEncoding 으로 로그인할 때 BCrypt 로 바꾼다.
+public class AdminPasswordEncoder implements PasswordEncoder {
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder bcrypt;
+
+    public AdminPasswordEncoder(int strength) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (isBcrypt(encodedPassword)) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 평문이거나 설정보다 낮은 cost 의 해시면 다시 저장한다
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && (!isBcrypt(encodedPassword) || bcrypt.upgradeEncoding(encodedPassword));
+    }
+
+    private boolean isBcrypt(String encodedPassword) {
+        return BCRYPT.matcher(encodedPassword).matches();
+    }
+}
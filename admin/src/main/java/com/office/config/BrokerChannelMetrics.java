@@ -0,0 +1,66 @@
+package com.office.config;
+
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+// STOMP 채널 executor 를 만들고 큐 길이/거절 횟수를 모은다.
+// 큐가 가득 차면 호출한 스레드가 직접 처리해서(CallerRuns) 보내는 쪽 속도를 늦춘다.
+// spring.threads.virtual.enabled=true 이고 JDK 21 이상이면 작업 스레드를 가상 스레드로 만든다 (17 에서는 Boot 처럼 무시).
+@Component
+public class BrokerChannelMetrics {
+    private final boolean virtualThreads;
+
+    public BrokerChannelMetrics(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    private final Map<String, ThreadPoolTaskExecutor> executors = new LinkedHashMap<>();
+    private final Map<String, LongAdder> rejections = new LinkedHashMap<>();
+
+    public synchronized ThreadPoolTaskExecutor executor(String name, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        LongAdder rejected = new LongAdder();
+        ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(60);
+        if (virtualThreads) {
+            // 가상 스레드는 만드는 비용이 작으므로 최대 개수까지 바로 쓰고, 큐 상한은 그대로 유지한다
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory());
+            executor.setCorePoolSize(maxPoolSize);
+            executor.setAllowCoreThreadTimeOut(true);
+        }
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            callerRuns.rejectedExecution(task, pool);
+        });
+        executors.put(name, executor);
+        rejections.put(name, rejected);
+        return executor;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        executors.forEach((name, executor) -> {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("poolSize", executor.getPoolSize());
+            s.put("activeCount", executor.getActiveCount());
+            s.put("queueSize", executor.getQueueSize());
+            s.put("queueCapacity", executor.getQueueCapacity());
+            s.put("rejected", rejections.get(name).sum());
+            result.put(name, s);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.office.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.office.app.frame.SMRepository;
+import com.office.app.frame.SMRepositoryCache;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// SMRepository 를 구현한 모든 빈(MyBatis 매퍼 포함)을 SMRepositoryCache 프록시로 감싼다.
+// 새 리포지토리도 SMRepository 만 상속하면 자동으로 캐시가 붙는다.
+//   app.cache.enabled / app.cache.max-size / app.cache.ttl-seconds
+@Component
+public class SMCachePostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof SMRepository) || !environment.getProperty("app.cache.enabled", Boolean.class, true)) {
+            return bean;
+        }
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("app.cache.max-size", Long.class, 1000L))
+                .expireAfterWrite(Duration.ofSeconds(environment.getProperty("app.cache.ttl-seconds", Long.class, 60L)))
+                .recordStats()
+                .build();
+        caches.put(beanName, cache);
+        return SMRepositoryCache.wrap(bean, ClassUtils.getAllInterfaces(bean), cache);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("size", cache.estimatedSize());
+            s.put("hits", stats.hitCount());
+            s.put("misses", stats.missCount());
+            s.put("hitRate", stats.hitRate());
+            s.put("evictions", stats.evictionCount());
+            result.put(name, s);
+        });
+        return result;
+    }
+}
@@ -1,25 +1,31 @@
 package com.office.config;
 
-import lombok.AllArgsConstructor;
+import com.office.app.dto.AdminDto;
+import com.office.app.service.AdminUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(securedEnabled = true, prePostEnabled = true)
-@AllArgsConstructor
 public class SecurityConfig  {
 
+    // BCrypt cost. 1 올릴 때마다 로그인 한 번의 CPU 시간이 두 배가 된다 (AdminPasswordEncoderTest 로 측정)
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        return new AdminPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -39,8 +45,30 @@ public class SecurityConfig  {
                         .anyRequest().permitAll()
 //                        .anyRequest().authenticated()
         );
+        // index.jsp 의 로그인 폼 (id, pwd) 을 AdminUserDetailsService + passwordEncoder 로 확인한다
+        http.formLogin(login -> login
+                .loginPage("/")
+                .loginProcessingUrl("/login_impl")
+                .usernameParameter("id")
+                .passwordParameter("pwd")
+                .successHandler(loginSuccessHandler())
+                .failureUrl("/")
+        );
+        http.logout(logout -> logout
+                .logoutUrl("/logout")
+                .logoutSuccessUrl("/")
+        );
         return http.build();
     }
 
+    // JSP 는 sessionScope.admin 을 보므로 로그인한 AdminDto 를 세션에 넣는다 (비밀번호는 빼고)
+    private AuthenticationSuccessHandler loginSuccessHandler() {
+        return (request, response, authentication) -> {
+            AdminDto admin = ((AdminUserDetailsService.AdminUser) authentication.getPrincipal()).getAdmin();
+            request.getSession().setAttribute("admin",
+                    AdminDto.builder().id(admin.getId()).role(admin.getRole()).build());
+            response.sendRedirect(request.getContextPath() + "/");
+        };
+    }
 
-}
\ No newline at end of file
+}
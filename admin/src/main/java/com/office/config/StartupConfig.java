@@ -0,0 +1,24 @@
+package com.office.config;
+
+import com.office.power.PowerListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// startup 프로파일(spring.main.lazy-initialization=true)에서도 바로 만들어야 하는 빈.
+// @Scheduled 작업과 PowerListener 는 다른 곳에서 주입받지 않으면 만들어지지 않아서 그대로 멈춘다.
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                PowerListener.class.isAssignableFrom(beanType)
+                        || !MethodIntrospector.selectMethods(beanType,
+                        (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -2,22 +2,77 @@ package com.office.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
 @Slf4j
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+    // /logs/** 로 내보내는 파일. logdir 바로 아래의 로그만 (하위 폴더나 다른 파일은 404)
+    private static final Pattern LOG_FILE = Pattern.compile("[^/\\\\]+\\.(log|json|csv)(\\.gz)?");
 
     @Value("${app.dir.imgdir}")
     String imgdir;
     @Value("${app.dir.logdir}")
     String logdir;
+    @Value("${app.cache-control.imgs-days:365}")
+    long imgsDays;
+    @Value("${app.cache-control.variants-days:1}")
+    long variantsDays;
+    @Value("${app.cache-control.logs-seconds:60}")
+    long logsSeconds;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/imgs/**").addResourceLocations(imgdir);
-        registry.addResourceHandler("/logs/**").addResourceLocations(logdir);
+        // 상품 이미지는 내용 해시 파일명이라 한 번 저장되면 바뀌지 않는다
+        registry.addResourceHandler("/imgs/**").addResourceLocations(imgdir)
+                .setCacheControl(CacheControl.maxAge(imgsDays, TimeUnit.DAYS).cachePublic().immutable());
+        // 축소본은 업로드 직후 비동기로 만들어지므로, 아직 없으면 원본을 내보낸다.
+        // 그 사이에 받은 원본이 오래 남지 않도록 캐시 기간은 짧게 둔다
+        registry.addResourceHandler("/imgs/thumb/**").addResourceLocations(imgdir + "thumb/", imgdir)
+                .setCacheControl(CacheControl.maxAge(variantsDays, TimeUnit.DAYS).cachePublic());
+        registry.addResourceHandler("/imgs/medium/**").addResourceLocations(imgdir + "medium/", imgdir)
+                .setCacheControl(CacheControl.maxAge(variantsDays, TimeUnit.DAYS).cachePublic());
+        // 로그는 계속 바뀌므로 짧게 캐시하고 ETag/Last-Modified 로 재검증한다 (변경이 없으면 304).
+        // LogPrecompressor 가 만든 .gz 가 있으면 그것을 보낸다. Range 요청은 ResourceHttpRequestHandler 가 처리한다
+        // logdir 아래에는 로그가 아닌 파일(예전 기본 위치의 세그먼트 등)이 있을 수 있으므로 LOG_FILE 만 찾는다
+        registry.addResourceHandler("/logs/**").addResourceLocations(logdir)
+                .setCacheControl(CacheControl.maxAge(logsSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate())
+                .setEtagGenerator(resource -> {
+                    try {
+                        return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver() {
+                    @Override
+                    protected Resource getResource(String resourcePath, Resource location) throws IOException {
+                        return LOG_FILE.matcher(resourcePath).matches() ? super.getResource(resourcePath, location) : null;
+                    }
+                });
+    }
+
+    // JSP 의 <c:url> 이 /css, /js, /vendor, /webjars 주소를 내용 해시가 붙은 주소로 바꾸도록 한다
+    // (spring.web.resources.chain.strategy.content). Thymeleaf 가 아니라서 Boot 가 자동으로 등록하지 않는다
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
     }
 
-}
\ No newline at end of file
+}
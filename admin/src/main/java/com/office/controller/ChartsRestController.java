@@ -1,19 +1,29 @@
 package com.office.controller;
 
-import com.office.util.LastDataSend;
-import com.opencsv.CSVReader;
+import com.office.power.PowerChartCache;
+import com.office.power.PowerDownsampler;
+import com.office.power.PowerSample;
+import com.office.power.PowerSamplePublisher;
+import com.office.power.PowerSegmentLog;
+import com.office.power.PowerStore;
+import com.office.util.LastDataReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.FileReader;
-
 @RestController
 @Slf4j
+@RequiredArgsConstructor
 public class ChartsRestController {
-    private String lastData;
+    private final PowerChartCache powerChartCache;
+    private final PowerSamplePublisher publisher;
+    private final PowerSegmentLog powerSegmentLog;
 
     @Value("${app.dir.readLogDir}")
     String readlogdir;
@@ -21,50 +31,62 @@ public class ChartsRestController {
 
     @GetMapping("/getLastData")
     @ResponseBody
-    public String getLastData() {
-        LastDataSend.lastDataSend();
-        return this.lastData;
+    public String getLastData(
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter
+    ) {
+        PowerSample sample = publisher.latest(meter);
+        if (sample == null) {
+            sample = powerSegmentLog.last(meter);
+        }
+        if (sample == null && PowerStore.DEFAULT_METER.equals(meter)) {
+            // 세그먼트로 옮기기 전이면 power.log 의 마지막 줄을 사용한다 (power.log 는 기본 미터만 기록한다)
+            sample = LastDataReader.lastData(readlogdir + "power.log", meter);
+        }
+        return sample == null ? null : sample.getJson();
     }
 
+    // since(ms) 를 주면 그 이후에 들어온 점들만 돌려준다. ETag 가 같으면 304
+    // maxPoints 를 주면 mode(lttb, minmax, avg) 방식으로 점 개수를 줄인다 (음수나 모르는 mode 는 400)
     @RequestMapping("/getChart")
-    public Object chart6() throws Exception {
-        String logfile = readlogdir+"power.log";
-
-        JSONObject result = new JSONObject();
-
-        //[{}]
-        JSONArray jsonArray = new JSONArray();
-        JSONObject jsonObject = new JSONObject();
-
-        jsonObject.put("name", "Power");
-
-        CSVReader reader = null;
-        reader = new CSVReader(new FileReader(logfile));
-
-        String [] lineData = null;
-        JSONArray jsonArray1 = new JSONArray();
-        JSONArray timeArray = new JSONArray();
-        while((lineData = reader.readNext()) != null){
-            jsonArray1.add(Float.parseFloat(lineData[1]));
-            timeArray.add(lineData[0]);
+    public ResponseEntity<String> chart6(
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "maxPoints", defaultValue = "0") int maxPoints,
+            @RequestParam(value = "mode", defaultValue = "lttb") String mode
+    ) {
+        PowerDownsampler.Mode m = PowerDownsampler.Mode.of(mode);
+        if (m == null || maxPoints < 0) {
+            return ResponseEntity.badRequest().build();
         }
-
-        jsonObject.put("data", jsonArray1);
-
-        jsonArray.add(jsonObject);
-        log.info(jsonArray.toJSONString());
-
-        // [{}]
-        // {'x':[], result:[{}]}
-        result.put("result", jsonArray);
-        result.put("x",timeArray );
-        return result;
+        PowerChartCache.Chart chart = powerChartCache.chart(meter, since, maxPoints, m);
+        return ResponseEntity.ok()
+                .eTag(chart.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(chart.getJson());
     }
 
+    // 외부 수집기가 최신값을 직접 밀어넣는 용도. {"timestamp": epoch ms, "value": 숫자} 가 아니면 400
     @RequestMapping("/receiveChartData")
-    public void chart5(
-            @RequestBody String lastData
+    public ResponseEntity<Void> chart5(
+            @RequestBody String lastData,
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter
     ) {
-        this.lastData = lastData;
+        if (!PowerStore.isValidMeter(meter)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Object parsed;
+        try {
+            parsed = new JSONParser().parse(lastData);
+        } catch (ParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!(parsed instanceof JSONObject data)
+                || !(data.get("timestamp") instanceof Number timestamp)
+                || !(data.get("value") instanceof Number value)
+                || !Double.isFinite(value.doubleValue())) {
+            return ResponseEntity.badRequest().build();
+        }
+        publisher.publish(new PowerSample(meter, timestamp.longValue(), value.doubleValue()));
+        return ResponseEntity.ok().build();
     }
 }
@@ -1,16 +1,16 @@
 package com.office.controller;
 
 import com.office.app.dto.CustDto;
+import com.office.app.dto.CustPage;
+import com.office.app.dto.Search;
 import com.office.app.service.CustService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Controller
 @RequestMapping("/cust")
 @RequiredArgsConstructor
@@ -19,13 +19,25 @@ public class CustController {
     final CustService custService;
 
     String dir = "cust/";
+
+    @Value("${app.cust.page-size:20}")
+    int pageSize;
+
     @RequestMapping("/get")
-    public String get(Model model) throws Exception {
+    public String get(Model model,
+                      @RequestParam(value = "cursor", required = false) String cursor,
+                      @RequestParam(value = "size", required = false) Integer size,
+                      Search search) throws Exception {
         // Database에서 데이터를 가지고 온다.
-        List<CustDto> list = new ArrayList<>();
         try {
-            list = custService.get();
-            model.addAttribute("custs",list);
+            int pageSize = size == null ? this.pageSize : Math.min(Math.max(size, 1), 100);
+            boolean find = search.getSearch() != null && !search.getSearch().isEmpty();
+            CustPage page = find
+                    ? custService.getFindPage(cursor, pageSize, search, true)
+                    : custService.getPage(cursor, pageSize, true);
+            model.addAttribute("custs",page.getCusts());
+            model.addAttribute("page",page);
+            model.addAttribute("search",search);
             model.addAttribute("center",dir+"get");
         } catch (Exception e) {
             throw new Exception("ER0001");
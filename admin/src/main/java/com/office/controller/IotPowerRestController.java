@@ -1,18 +1,123 @@
 package com.office.controller;
 
+import com.office.power.PowerBatch;
+import com.office.power.PowerBulkParser;
+import com.office.power.PowerIngest;
+import com.office.power.PowerIngestQueue;
+import com.office.power.PowerStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @Slf4j
+@RequiredArgsConstructor
 public class IotPowerRestController {
+    private static final int MAX_BATCH = 4096;
+
+    private final PowerIngest powerIngest;
+    private final PowerIngestQueue powerIngestQueue;
+    private final PowerStore powerStore;
+
+    @Value("${app.power.ingest.max-backfill-ms:604800000}")
+    private long maxBackfill;
+    @Value("${app.power.ingest.max-skew-ms:60000}")
+    private long maxSkew;
+
     @RequestMapping("/iotPower")
     public Object power(
-            @RequestBody String data
+            @RequestBody String data,
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter
     ) {
+        if (!PowerStore.isValidMeter(meter)) {
+            return 0;
+        }
         log.info(data);
-        return 1;
+        double value;
+        try {
+            value = Double.parseDouble(data.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+        // NaN/Infinity 는 JSON 으로 내보낼 수 없고 집계 합계를 영구히 망가뜨린다
+        if (!Double.isFinite(value)) {
+            return 0;
+        }
+        // 미터 수 상한(app.power.max-meters)을 넘는 새 미터는 저장하지 않는다
+        return powerIngest.ingest(meter, System.currentTimeMillis(), value) ? 1 : 0;
+    }
+
+    // 여러 측정값을 한 번에 받는다. Content-Type 으로 형식을 고른다 (형식은 PowerBulkParser 참고)
+    //   application/json, application/x-ndjson, application/octet-stream
+    // meter 파라미터는 항목에 미터가 없을 때의 기본값. 큐가 가득 차서 못 넣은 건이 있으면 503
+    // 미터의 마지막 저장 시각보다 이른 측정값은 rejected (저장소는 미터별로 시간순으로만 쌓는다)
+    // 중간에 형식 오류가 나면 그 앞에서 이미 큐에 넣은 건(accepted)은 되돌리지 않는다.
+    // accepted 가 0 이면 400, 아니면 200 에 error 와 partial=true 를 같이 보낸다 (그대로 재전송하면 앞부분이 중복된다)
+    @PostMapping("/iotPower/bulk")
+    public ResponseEntity<Map<String, Object>> bulk(
+            HttpServletRequest request,
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter
+    ) throws IOException, InterruptedException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!PowerStore.isValidMeter(meter)) {
+            result.put("error", "invalid meter");
+            return ResponseEntity.badRequest().body(result);
+        }
+        long[] counts = new long[2];    // accepted, dropped
+        long length = request.getContentLengthLong();
+        int capacity = length < 0 ? MAX_BATCH : (int) Math.max(16, Math.min(MAX_BATCH, length / 16));
+        PowerBulkParser parser = new PowerBulkParser(request.getInputStream(), meter, System.currentTimeMillis(),
+                maxBackfill, maxSkew, powerStore::lastTime, new PowerBatch(capacity), batch -> {
+            // 한 번 시간 초과로 버렸으면 남은 batch 는 기다리지 않고 버린다
+            int n = counts[1] > 0 ? 0 : powerIngestQueue.offer(batch);
+            counts[0] += n;
+            counts[1] += batch.getSize() - n;
+        });
+        String error = null;
+        try {
+            if (MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(baseType(request.getContentType()))) {
+                parser.binary();
+            } else {
+                parser.json();
+            }
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+        result.put("accepted", counts[0]);
+        result.put("rejected", parser.getRejected());
+        result.put("dropped", counts[1]);
+        if (error != null) {
+            result.put("error", error);
+            result.put("partial", counts[0] > 0);
+            if (counts[0] == 0) {
+                return ResponseEntity.badRequest().body(result);
+            }
+        }
+        if (counts[1] > 0) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private String baseType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int semi = contentType.indexOf(';');
+        return (semi < 0 ? contentType : contentType.substring(0, semi)).trim().toLowerCase();
     }
 }
@@ -29,8 +29,7 @@ public class ItemController {
     }
     @RequestMapping("/addimpl")
     public String addimpl(Model model, ItemDto itemDto) throws Exception {
-        // 데이터 입력
-        itemDto.setImgName(itemDto.getImage().getOriginalFilename());
+        // 데이터 입력 (imgName 은 저장된 이미지의 해시 파일명으로 채워진다)
         itemService.add(itemDto);
 
         return "redirect:/item/get";
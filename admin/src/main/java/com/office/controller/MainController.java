@@ -1,24 +1,17 @@
 package com.office.controller;
 
-import com.office.app.dto.AdminDto;
-import com.office.app.service.AdminService;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @Slf4j
 @RequiredArgsConstructor
 public class MainController {
 
-    private final AdminService adminService;
-
-
     @Value("${app.url.server-url}")
     String serverUrl;
 
@@ -41,36 +34,6 @@ public class MainController {
         model.addAttribute("center","chat");
         return "index";
     }
-    @RequestMapping("/logout")
-    public String logout(HttpSession httpSession){
-        if(httpSession != null){
-            httpSession.invalidate();
-        }
-        return "index";
-    }
-    @RequestMapping("/login_impl")
-    public String loginimpl(
-            @RequestParam("id") String id,
-            @RequestParam("pwd") String pwd,
-            HttpSession httpSession){
-        AdminDto adminDto = null;
-
-        try {
-            adminDto = adminService.get(id);
-            if(adminDto == null){
-                throw new Exception();
-            }
-            if(!adminDto.getPwd().equals(pwd)){
-                throw new Exception();
-            }
-            httpSession.setAttribute("admin",adminDto);
-        } catch (Exception e) {
-            return "index";
-        }
-
-        return "redirect:/";
-    }
-
-
+    // 로그인(/login_impl), 로그아웃(/logout) 은 SecurityConfig 에서 처리한다
 
 }
@@ -0,0 +1,149 @@
+package com.office.controller;
+
+import com.office.power.PowerAlert;
+import com.office.power.PowerAlerts;
+import com.office.power.PowerBuckets;
+import com.office.power.PowerPoints;
+import com.office.power.PowerRangeWriter;
+import com.office.power.PowerRollups;
+import com.office.power.PowerSegmentLog;
+import com.office.power.PowerStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Slf4j
+@RequestMapping("/api/power")
+@RequiredArgsConstructor
+public class PowerApiRestController {
+    private static final int MAX_RAW = 1_000_000;
+
+    private final PowerRollups powerRollups;
+    private final PowerSegmentLog powerSegmentLog;
+    private final PowerAlerts powerAlerts;
+
+    // from, to : epoch ms (기본값: 최근 24시간), step : 초 (1분/1시간 이상은 그 배수로 내림, 응답의 step 이 실제 값).
+    // step <= 0 이거나 버킷이 MAX_BUCKETS 개를 넘으면 400
+    @GetMapping("/rollup")
+    public ResponseEntity<Map<String, Object>> rollup(
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "step", defaultValue = "60") long step
+    ) {
+        long end = to == null ? System.currentTimeMillis() : to;
+        long start = from == null ? end - PowerRollups.HOUR * 24 : from;
+        if (!PowerStore.isValidMeter(meter) || start > end || step <= 0 || step > Long.MAX_VALUE / 1000
+                || PowerRollups.bucketCount(start, end, step * 1000) > PowerRollups.MAX_BUCKETS) {
+            return ResponseEntity.badRequest().build();
+        }
+        PowerBuckets buckets = powerRollups.query(meter, start, end, step * 1000);
+
+        int n = buckets.getSize();
+        double[] avg = new double[n];
+        for (int i = 0; i < n; i++) {
+            avg[i] = buckets.avg(i);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("step", buckets.getStep() / 1000);
+        result.put("t", Arrays.copyOf(buckets.getTimes(), n));
+        result.put("min", Arrays.copyOf(buckets.getMin(), n));
+        result.put("max", Arrays.copyOf(buckets.getMax(), n));
+        result.put("avg", avg);
+        result.put("count", Arrays.copyOf(buckets.getCount(), n));
+        result.put("truncated", buckets.isTruncated());
+        return ResponseEntity.ok(result);
+    }
+
+    // 세그먼트 로그의 원본 측정값. from, to : epoch ms (기본값: 최근 1시간), 앞에서부터 최대 limit 건 (긴 구간은 /range)
+    @GetMapping("/raw")
+    public ResponseEntity<Map<String, Object>> raw(
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "limit", defaultValue = "100000") int limit
+    ) {
+        if (!PowerStore.isValidMeter(meter) || limit < 0 || limit > MAX_RAW) {
+            return ResponseEntity.badRequest().build();
+        }
+        long end = to == null ? System.currentTimeMillis() : to;
+        long start = from == null ? end - PowerRollups.HOUR : from;
+        PowerPoints points = powerSegmentLog.range(meter, start, end, limit);
+
+        int n = Math.min(points.getSize(), limit);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("t", Arrays.copyOf(points.getTimes(), n));
+        result.put("v", Arrays.copyOf(points.getValues(), n));
+        result.put("truncated", n < points.getSize());
+        return ResponseEntity.ok(result);
+    }
+
+    // 세그먼트 로그 전체(압축본 포함)에서 [from, to] 구간을 JSON 배열이나 CSV 로 흘려보낸다 (chunked).
+    // from, to : epoch ms (기본값: 최근 24시간), step : 초 (0 이면 원본), format : json | csv
+    @GetMapping("/range")
+    public ResponseEntity<StreamingResponseBody> range(
+            @RequestParam(value = "meter", defaultValue = PowerStore.DEFAULT_METER) String meter,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "step", defaultValue = "0") long step,
+            @RequestParam(value = "format", defaultValue = "json") String format
+    ) {
+        long end = to == null ? System.currentTimeMillis() : to;
+        long start = from == null ? end - PowerRollups.HOUR * 24 : from;
+        PowerRangeWriter.Format f = PowerRangeWriter.Format.of(format);
+        if (f == null || !PowerStore.isValidMeter(meter) || start > end || step < 0 || step > Long.MAX_VALUE / 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            PowerRangeWriter rangeWriter = new PowerRangeWriter(writer, f, step * 1000);
+            rangeWriter.start();
+            try {
+                powerSegmentLog.scan(meter, start, end, rangeWriter);
+            } catch (UncheckedIOException e) {
+                // 클라이언트가 끊었거나 압축본을 읽지 못했다
+                log.debug("Power range aborted after {} rows: {}", rangeWriter.getRows(), e.getMessage());
+                throw e.getCause();
+            } catch (IllegalStateException e) {
+                // 압축본 블록이 깨졌다 (BitInput). 이미 보낸 응답은 되돌릴 수 없으므로 IO 실패와 같이 끊는다
+                log.warn("Power range failed after {} rows: {}", rangeWriter.getRows(), e.getMessage());
+                throw new IOException(e.getMessage(), e);
+            }
+            rangeWriter.finish();
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (f == PowerRangeWriter.Format.CSV) {
+            response.contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"power-" + meter + "-" + start + "-" + end + ".csv\"");
+        } else {
+            response.contentType(MediaType.APPLICATION_JSON);
+        }
+        return response.body(body);
+    }
+
+    // 지금 울리고 있는 알림 (화면을 새로 열었을 때 /send2/alerts 구독 전 상태)
+    @GetMapping("/alerts")
+    public List<PowerAlert> alerts() {
+        return powerAlerts.active();
+    }
+}
@@ -0,0 +1,42 @@
+package com.office.controller;
+
+import com.office.config.BrokerChannelMetrics;
+import com.office.config.SMCachePostProcessor;
+import com.office.power.PowerIngestQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsRestController {
+
+    private final BrokerChannelMetrics brokerChannelMetrics;
+    private final WebSocketMessageBrokerStats webSocketMessageBrokerStats;
+    private final SMCachePostProcessor smCachePostProcessor;
+    private final PowerIngestQueue powerIngestQueue;
+
+    @GetMapping("/broker")
+    public Map<String, Object> broker() {
+        Map<String, Object> result = new LinkedHashMap<>(brokerChannelMetrics.stats());
+        result.put("sessions", webSocketMessageBrokerStats.getWebSocketSessionStatsInfo());
+        result.put("stomp", webSocketMessageBrokerStats.getStompSubProtocolStatsInfo());
+        return result;
+    }
+
+    @GetMapping("/cache")
+    public Map<String, Object> cache() {
+        return smCachePostProcessor.stats();
+    }
+
+    @GetMapping("/ingest")
+    public Map<String, Object> ingest() {
+        return powerIngestQueue.stats();
+    }
+}
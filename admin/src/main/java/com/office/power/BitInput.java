@@ -0,0 +1,36 @@
+package com.office.power;
+
+// BitOutput 으로 쓴 바이트 배열을 상위 비트부터 읽는다
+class BitInput {
+    private final byte[] bytes;
+    private int position;
+    private int used;
+
+    BitInput(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int n) {
+        long value = 0;
+        while (n > 0) {
+            if (position >= bytes.length) {
+                throw new IllegalStateException("Block underflow");
+            }
+            int left = 8 - used;
+            int take = Math.min(left, n);
+            int bits = (bytes[position] >>> (left - take)) & ((1 << take) - 1);
+            value = (value << take) | bits;
+            used += take;
+            n -= take;
+            if (used == 8) {
+                position++;
+                used = 0;
+            }
+        }
+        return value;
+    }
+}
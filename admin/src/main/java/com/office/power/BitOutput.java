@@ -0,0 +1,47 @@
+package com.office.power;
+
+import java.util.Arrays;
+
+// 비트 단위로 쓰는 버퍼 (상위 비트부터). PowerArchive 블록 인코딩용
+class BitOutput {
+    private byte[] bytes = new byte[256];
+    private int length;
+    private int current;
+    private int used;
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // value 의 하위 n 비트 (n <= 64)
+    void writeBits(long value, int n) {
+        while (n > 0) {
+            int free = 8 - used;
+            int take = Math.min(free, n);
+            int bits = (int) ((value >>> (n - take)) & ((1 << take) - 1));
+            current |= bits << (free - take);
+            used += take;
+            n -= take;
+            if (used == 8) {
+                push();
+            }
+        }
+    }
+
+    private void push() {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, length * 2);
+        }
+        bytes[length++] = (byte) current;
+        current = 0;
+        used = 0;
+    }
+
+    // 남은 비트를 채워서 바이트 배열로
+    byte[] toByteArray() {
+        if (used > 0) {
+            push();
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
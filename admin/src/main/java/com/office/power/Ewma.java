@@ -0,0 +1,39 @@
+package com.office.power;
+
+// 지수 가중 이동 평균과 분산. alpha 가 클수록 최근 값을 더 따라간다
+public class Ewma {
+    private final double alpha;
+    private boolean initialized;
+    private double mean;
+    private double variance;
+
+    public Ewma(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public void add(double x) {
+        if (Double.isNaN(x)) {
+            return;
+        }
+        if (!initialized) {
+            mean = x;
+            initialized = true;
+            return;
+        }
+        double d = x - mean;
+        mean += alpha * d;
+        variance = (1 - alpha) * (variance + alpha * d * d);
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public double stddev() {
+        return Math.sqrt(variance);
+    }
+}
@@ -0,0 +1,25 @@
+package com.office.power;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// PowerAlerts 가 /send2/alerts 로 보내는 알림. 같은 미터/규칙은 상태가 바뀔 때(FIRING <-> RESOLVED)만 나온다
+// payload : [{"meter":"power","rule":"ZSCORE","state":"FIRING","time":1700000000000,"value":52.1,"message":"..."}, ...]
+@Getter
+@RequiredArgsConstructor
+public class PowerAlert {
+    public enum Rule {
+        THRESHOLD, ZSCORE, EWMA, SILENCE
+    }
+
+    public enum State {
+        FIRING, RESOLVED
+    }
+
+    private final String meter;
+    private final Rule rule;
+    private final State state;
+    private final long time;
+    private final double value;
+    private final String message;
+}
@@ -0,0 +1,211 @@
+package com.office.power;
+
+import com.office.scheduler.BroadcastCoalescer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 수집 경로에서 측정값마다 알림 규칙을 평가한다. 미터별 상태는 고정 크기(이력 재조회 없음).
+//  - THRESHOLD : max 초과 / min 미만
+//  - ZSCORE    : 이동 평균(Welford)에서 z 표준편차 이상 벗어남 (warmup 건 이후)
+//  - EWMA      : 지수 이동 평균에서 k 표준편차 이상 벗어남 (급변)
+//                두 규칙 모두 표준편차를 min-sd 와 |평균| * min-sd-ratio 아래로 내리지 않는다 (일정한 값 뒤의 급변도 잡도록)
+//  - SILENCE   : silence-ms 동안 측정값이 없음 (dead man's switch, 주기적으로 확인)
+//                재시작 때 세그먼트에서 읽은 미터도 기동 시각부터 세므로, 이미 끊긴 미터도 알림이 간다
+// 상태가 바뀔 때만 /send2/alerts 로 보낸다 (관리자 화면 /send2 피드 옆)
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PowerAlerts implements PowerListener {
+    public static final String TOPIC = "/send2/alerts";
+
+    private final BroadcastCoalescer broadcastCoalescer;
+    private final PowerSegmentLog powerSegmentLog;
+    private final Map<String, MeterState> states = new ConcurrentHashMap<>();
+    private final Map<String, PowerAlert> active = new ConcurrentHashMap<>();
+
+    @Value("${app.power.alert.enabled:true}")
+    private boolean enabled;
+    @Value("${app.power.alert.max:NaN}")
+    private double max;
+    @Value("${app.power.alert.min:NaN}")
+    private double min;
+    @Value("${app.power.alert.window:3600}")
+    private int window;
+    @Value("${app.power.alert.warmup:60}")
+    private int warmup;
+    @Value("${app.power.alert.z:4.0}")
+    private double z;
+    @Value("${app.power.alert.ewma-alpha:0.1}")
+    private double ewmaAlpha;
+    @Value("${app.power.alert.ewma-k:5.0}")
+    private double ewmaK;
+    @Value("${app.power.alert.min-sd:0.01}")
+    private double minSd;
+    @Value("${app.power.alert.min-sd-ratio:0.01}")
+    private double minSdRatio;
+    @Value("${app.power.alert.silence-ms:30000}")
+    private long silenceMs;
+    @Value("${app.power.max-meters:64}")
+    private int maxMeters;
+
+    // 미터 하나의 규칙 상태
+    static class MeterState {
+        final RunningStats stats;
+        final Ewma ewma;
+        volatile long lastSeen;
+        long lastTime;
+        double lastValue;
+        final boolean[] firing = new boolean[PowerAlert.Rule.values().length];
+
+        MeterState(int window, double alpha) {
+            this.stats = new RunningStats(window);
+            this.ewma = new Ewma(alpha);
+        }
+    }
+
+    @PostConstruct
+    public void seed() {
+        for (String meter : powerSegmentLog.meters()) {
+            seed(meter, powerSegmentLog.last(meter));
+        }
+    }
+
+    // 측정값이 아직 안 들어온 미터를 지금부터 SILENCE 감시 대상으로 올린다
+    void seed(String meter, PowerSample last) {
+        MeterState state = state(meter);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.lastSeen == 0) {
+                state.lastSeen = System.currentTimeMillis();
+                if (last != null) {
+                    state.lastTime = last.getTimestamp();
+                    state.lastValue = last.getValue();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onSample(String meter, long time, double value) {
+        if (!enabled || !Double.isFinite(value)) {
+            return;
+        }
+        MeterState state = state(meter);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.lastSeen = System.currentTimeMillis();
+            state.lastTime = time;
+            state.lastValue = value;
+            if (changed(state, PowerAlert.Rule.SILENCE, false)) {
+                emit(meter, PowerAlert.Rule.SILENCE, false, time, value, null);
+            }
+
+            boolean over = !Double.isNaN(max) && value > max;
+            boolean under = !Double.isNaN(min) && value < min;
+            boolean outside = over || under;
+            if (changed(state, PowerAlert.Rule.THRESHOLD, outside)) {
+                emit(meter, PowerAlert.Rule.THRESHOLD, outside, time, value,
+                        over ? "value " + value + " > max " + max : "value " + value + " < min " + min);
+            }
+
+            // 새 값을 넣기 전의 통계와 비교한다. 메시지는 상태가 바뀔 때만 만든다
+            boolean warm = state.stats.count() >= warmup;
+            double sd = floor(state.stats.stddev(), state.stats.mean());
+            double score = sd == 0 ? 0 : (value - state.stats.mean()) / sd;
+            boolean zFiring = warm && Math.abs(score) >= z;
+            if (changed(state, PowerAlert.Rule.ZSCORE, zFiring)) {
+                emit(meter, PowerAlert.Rule.ZSCORE, zFiring, time, value,
+                        String.format("z-score %.2f (mean %.3f, sd %.3f)", score, state.stats.mean(), sd));
+            }
+
+            double band = ewmaK * floor(state.ewma.stddev(), state.ewma.mean());
+            double deviation = value - state.ewma.mean();
+            boolean ewmaFiring = warm && band > 0 && Math.abs(deviation) > band;
+            if (changed(state, PowerAlert.Rule.EWMA, ewmaFiring)) {
+                emit(meter, PowerAlert.Rule.EWMA, ewmaFiring, time, value,
+                        String.format("deviation %.3f from EWMA %.3f (band %.3f)", deviation, state.ewma.mean(), band));
+            }
+
+            state.stats.add(value);
+            state.ewma.add(value);
+        }
+    }
+
+    // 마지막 측정값 이후 silence-ms 가 지난 미터
+    @Scheduled(fixedDelayString = "${app.power.alert.check-ms:5000}")
+    public void checkSilence() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, MeterState> entry : states.entrySet()) {
+            MeterState state = entry.getValue();
+            if (now - state.lastSeen < silenceMs) {
+                continue;
+            }
+            synchronized (state) {
+                if (now - state.lastSeen >= silenceMs && changed(state, PowerAlert.Rule.SILENCE, true)) {
+                    emit(entry.getKey(), PowerAlert.Rule.SILENCE, true, state.lastTime, state.lastValue,
+                            "no samples for " + (now - state.lastSeen) / 1000 + "s");
+                }
+            }
+        }
+    }
+
+    // 값이 계속 같으면 표준편차가 0 이라 어떤 급변도 점수가 나오지 않으므로 하한을 둔다
+    private double floor(double sd, double mean) {
+        return Math.max(sd, Math.max(minSd, Math.abs(mean) * minSdRatio));
+    }
+
+    // 저장소와 같은 max-meters 개까지만 만든다. 넘으면 null
+    private MeterState state(String meter) {
+        MeterState state = states.get(meter);
+        if (state == null) {
+            if (states.size() >= maxMeters) {
+                return null;
+            }
+            state = states.computeIfAbsent(meter, m -> new MeterState(window, ewmaAlpha));
+        }
+        return state;
+    }
+
+    public List<PowerAlert> active() {
+        return new ArrayList<>(active.values());
+    }
+
+    private boolean changed(MeterState state, PowerAlert.Rule rule, boolean firing) {
+        int r = rule.ordinal();
+        if (state.firing[r] == firing) {
+            return false;
+        }
+        state.firing[r] = firing;
+        return true;
+    }
+
+    private void emit(String meter, PowerAlert.Rule rule, boolean firing, long time, double value, String message) {
+        String key = meter + ":" + rule;
+        PowerAlert alert = new PowerAlert(meter, rule,
+                firing ? PowerAlert.State.FIRING : PowerAlert.State.RESOLVED, time, value, firing ? message : null);
+        if (firing) {
+            active.put(key, alert);
+            log.warn("Power alert {} {}: {}", meter, rule, message);
+        } else {
+            active.remove(key);
+            log.info("Power alert resolved {} {}", meter, rule);
+        }
+        broadcastCoalescer.publish(TOPIC, key, alert);
+    }
+}
@@ -0,0 +1,280 @@
+package com.office.power;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// 봉인된 세그먼트의 압축본 ({meter}/{첫 시각}.gor). Gorilla 방식으로 블록 단위 인코딩한다.
+//   시간: 블록 첫 시각은 헤더에, 이후는 간격의 차이(delta-of-delta)를 0 / 7 / 9 / 12 / 64 비트로
+//   값  : 직전 값과 XOR 해서 같으면 1비트, 다르면 의미 있는 비트만
+// 파일: [magic 8][블록 수 4][예약 4] 다음에 블록 [첫 시각 8][마지막 시각 8][건수 4][길이 4][비트열] 반복.
+// 열 때 블록 헤더만 읽어 두고, 구간 조회는 겹치는 블록만 읽어서 푼다.
+public class PowerArchive implements PowerFile {
+    static final long MAGIC = 0x5057_5247_4f52_3031L;   // "PWRGOR01"
+    static final int FILE_HEADER = 16;
+    static final int BLOCK_HEADER = 24;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<Block> blocks;
+    private final int count;
+
+    static class Block {
+        final long offset;
+        final long firstTime;
+        final long lastTime;
+        final int count;
+        final int length;
+
+        Block(long offset, long firstTime, long lastTime, int count, int length) {
+            this.offset = offset;
+            this.firstTime = firstTime;
+            this.lastTime = lastTime;
+            this.count = count;
+            this.length = length;
+        }
+    }
+
+    private PowerArchive(Path path, FileChannel channel, List<Block> blocks) {
+        this.path = path;
+        this.channel = channel;
+        this.blocks = blocks;
+        this.count = blocks.stream().mapToInt(b -> b.count).sum();
+    }
+
+    public static PowerArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(channel, 0, FILE_HEADER);
+            if (header.getLong(0) != MAGIC) {
+                throw new IOException("Not a power archive: " + path);
+            }
+            int n = header.getInt(8);
+            List<Block> blocks = new ArrayList<>(n);
+            long offset = FILE_HEADER;
+            for (int i = 0; i < n; i++) {
+                ByteBuffer b = read(channel, offset, BLOCK_HEADER);
+                Block block = new Block(offset + BLOCK_HEADER, b.getLong(0), b.getLong(8), b.getInt(16), b.getInt(20));
+                blocks.add(block);
+                offset = block.offset + block.length;
+            }
+            return new PowerArchive(path, channel, blocks);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // file 이 읽을 수 있는 모든 레코드를 blockSize 건씩 압축해서 path 에 쓴다
+    public static void write(Path path, PowerFile file, int blockSize) throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        List<long[]> headers = new ArrayList<>();
+        long[] times = new long[blockSize];
+        double[] values = new double[blockSize];
+        int[] n = {0};
+        file.scan(Long.MIN_VALUE, Long.MAX_VALUE, (t, v) -> {
+            times[n[0]] = t;
+            values[n[0]] = v;
+            if (++n[0] == blockSize) {
+                encoded.add(encode(times, values, blockSize));
+                headers.add(new long[]{times[0], times[blockSize - 1], blockSize});
+                n[0] = 0;
+            }
+            return true;
+        });
+        if (n[0] > 0) {
+            encoded.add(encode(times, values, n[0]));
+            headers.add(new long[]{times[0], times[n[0] - 1], n[0]});
+        }
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+            header.putLong(MAGIC).putInt(encoded.size()).putInt(0).flip();
+            writeFully(out, header);
+            for (int i = 0; i < encoded.size(); i++) {
+                long[] h = headers.get(i);
+                byte[] bits = encoded.get(i);
+                ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER + bits.length);
+                block.putLong(h[0]).putLong(h[1]).putInt((int) h[2]).putInt(bits.length).put(bits).flip();
+                writeFully(out, block);
+            }
+            out.force(true);
+        }
+    }
+
+    static byte[] encode(long[] times, double[] values, int n) {
+        BitOutput out = new BitOutput();
+        out.writeBits(Double.doubleToRawLongBits(values[0]), 64);
+        long prevDelta = 0;
+        long prevBits = Double.doubleToRawLongBits(values[0]);
+        int prevLead = -1;
+        int prevTrail = 0;
+        for (int i = 1; i < n; i++) {
+            long delta = times[i] - times[i - 1];
+            writeDeltaOfDelta(out, delta - prevDelta);
+            prevDelta = delta;
+
+            long bits = Double.doubleToRawLongBits(values[i]);
+            long xor = bits ^ prevBits;
+            prevBits = bits;
+            if (xor == 0) {
+                out.writeBit(false);
+                continue;
+            }
+            out.writeBit(true);
+            int lead = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trail = Long.numberOfTrailingZeros(xor);
+            if (prevLead >= 0 && lead >= prevLead && trail >= prevTrail) {
+                // 직전 창 안에 들어오면 창 크기만큼만 쓴다
+                out.writeBit(false);
+                out.writeBits(xor >>> prevTrail, 64 - prevLead - prevTrail);
+            } else {
+                int significant = 64 - lead - trail;
+                out.writeBit(true);
+                out.writeBits(lead, 5);
+                out.writeBits(significant - 1, 6);
+                out.writeBits(xor >>> trail, significant);
+                prevLead = lead;
+                prevTrail = trail;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeDeltaOfDelta(BitOutput out, long d) {
+        if (d == 0) {
+            out.writeBit(false);
+        } else if (d >= -63 && d <= 64) {
+            out.writeBits(0b10, 2);
+            out.writeBits(d + 63, 7);
+        } else if (d >= -255 && d <= 256) {
+            out.writeBits(0b110, 3);
+            out.writeBits(d + 255, 9);
+        } else if (d >= -2047 && d <= 2048) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(d + 2047, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(d, 64);
+        }
+    }
+
+    // visitor 가 멈추면 false
+    static boolean decode(byte[] bytes, long firstTime, int n, long from, long to, Visitor visitor) {
+        BitInput in = new BitInput(bytes);
+        long time = firstTime;
+        long bits = in.readBits(64);
+        long delta = 0;
+        int lead = 0;
+        int trail = 0;
+        for (int i = 0; ; ) {
+            if (time > to) {
+                return true;
+            }
+            if (time >= from && !visitor.accept(time, Double.longBitsToDouble(bits))) {
+                return false;
+            }
+            if (++i == n) {
+                return true;
+            }
+            delta += readDeltaOfDelta(in);
+            time += delta;
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    lead = (int) in.readBits(5);
+                    int significant = (int) in.readBits(6) + 1;
+                    trail = 64 - lead - significant;
+                }
+                bits ^= in.readBits(64 - lead - trail) << trail;
+            }
+        }
+    }
+
+    private static long readDeltaOfDelta(BitInput in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return in.readBits(7) - 63;
+        }
+        if (!in.readBit()) {
+            return in.readBits(9) - 255;
+        }
+        if (!in.readBit()) {
+            return in.readBits(12) - 2047;
+        }
+        return in.readBits(64);
+    }
+
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public long firstTime() {
+        return blocks.isEmpty() ? Long.MIN_VALUE : blocks.get(0).firstTime;
+    }
+
+    @Override
+    public long lastTime() {
+        return blocks.isEmpty() ? Long.MIN_VALUE : blocks.get(blocks.size() - 1).lastTime;
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    // 블록 헤더의 시각 범위가 겹치지 않는 블록은 읽지 않는다
+    @Override
+    public boolean scan(long from, long to, Visitor visitor) {
+        for (Block block : blocks) {
+            if (block.lastTime < from) {
+                continue;
+            }
+            if (block.firstTime > to) {
+                return true;
+            }
+            byte[] bytes;
+            try {
+                bytes = read(channel, block.offset, block.length).array();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read " + path, e);
+            }
+            if (!decode(bytes, block.firstTime, block.count, from, to, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.office.power;
+
+import lombok.Getter;
+
+// 대량 수집 요청 하나에서 읽은 측정값 묶음. 요청마다 하나를 만들어 여러 번 재사용한다.
+@Getter
+public class PowerBatch {
+    private final String[] meters;
+    private final long[] times;
+    private final double[] values;
+    private int size;
+
+    public PowerBatch(int capacity) {
+        this.meters = new String[capacity];
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public void add(String meter, long time, double value) {
+        meters[size] = meter;
+        times[size] = time;
+        values[size] = value;
+        size++;
+    }
+
+    public boolean isFull() {
+        return size == meters.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
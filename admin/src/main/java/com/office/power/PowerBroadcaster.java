@@ -0,0 +1,30 @@
+package com.office.power;
+
+import com.office.scheduler.BroadcastCoalescer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 새 측정값을 STOMP /broadcast/power 로 내보낸다. 대시보드는 폴링 대신 구독한다.
+// BroadcastCoalescer 가 tick 마다 미터별 최신값을 배열로 묶어 보낸다.
+// payload : [{"m":"power","t":1700000000000,"v":12.3}, ...]
+@Component
+@RequiredArgsConstructor
+public class PowerBroadcaster implements PowerListener {
+    public static final String TOPIC = "/broadcast/power";
+
+    private final BroadcastCoalescer broadcastCoalescer;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Point {
+        private final String m;
+        private final long t;
+        private final double v;
+    }
+
+    @Override
+    public void onSample(String meter, long time, double value) {
+        broadcastCoalescer.publish(TOPIC, meter, new Point(meter, time, value));
+    }
+}
@@ -0,0 +1,54 @@
+package com.office.power;
+
+import lombok.Getter;
+
+// 구간 집계 결과. i 번째 버킷은 times[i] 부터 step 동안의 min/max/avg/count
+@Getter
+public class PowerBuckets {
+    private final long step;
+    private final long[] times;
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final int[] count;
+    private int size;
+    private boolean truncated;   // capacity 를 넘어서 버린 버킷이 있다
+
+    public PowerBuckets(long step, int capacity) {
+        this.step = step;
+        this.times = new long[capacity];
+        this.min = new double[capacity];
+        this.max = new double[capacity];
+        this.sum = new double[capacity];
+        this.count = new int[capacity];
+    }
+
+    // bucketTime 이 마지막 버킷과 같으면 합치고, 아니면 새 버킷을 연다 (시간순 입력 가정)
+    public void add(long bucketTime, double mn, double mx, double sm, int cnt) {
+        if (cnt == 0) {
+            return;
+        }
+        if (size > 0 && times[size - 1] == bucketTime) {
+            int i = size - 1;
+            min[i] = Math.min(min[i], mn);
+            max[i] = Math.max(max[i], mx);
+            sum[i] += sm;
+            count[i] += cnt;
+            return;
+        }
+        if (size == times.length) {
+            truncated = true;
+            return;
+        }
+        times[size] = bucketTime;
+        min[size] = mn;
+        max[size] = mx;
+        sum[size] = sm;
+        count[size] = cnt;
+        size++;
+    }
+
+    public double avg(int i) {
+        return count[i] == 0 ? Double.NaN : sum[i] / count[i];
+    }
+}
@@ -0,0 +1,479 @@
+package com.office.power;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+// /iotPower/bulk 요청 본문을 InputStream 에서 바로 읽는다 (String 본문, json-simple 없이).
+// 읽은 값은 PowerBatch 에 모으고 가득 찰 때마다 Sink 로 넘기므로, 본문 크기와 상관없이 메모리는 batch 크기만 쓴다.
+//
+// JSON   : [{"meter":"m1","t":1700000000000,"v":1.5}, ...]   (meter, t 는 생략 가능. timestamp/value 도 가능)
+// NDJSON : 한 줄에 위 객체 하나
+// binary : [u8 meter 길이][meter ASCII][i64 epoch ms][f64 value] 반복, big-endian. 길이 0 은 기본 미터, 시간 0 은 수신 시각
+// 시각이 [now - maxBackfill, now + maxSkew] 밖이거나, 그 미터에 이미 저장된 마지막 시각(lastTime)이나
+// 이 요청에서 앞서 받은 시각보다 이르면 rejected. 저장소는 미터마다 시간순으로만 쌓으므로 과거 구간을 끼워 넣을 수 없다
+// (backfill 은 마지막 측정값 이후 끊겼던 구간을 채우는 것만 된다).
+// 미터 수 상한(PowerStore)을 넘는 새 미터는 lastTime 이 Long.MAX_VALUE 이므로 모두 rejected
+public class PowerBulkParser {
+    public interface Sink {
+        void accept(PowerBatch batch) throws IOException, InterruptedException;
+    }
+
+    private static final int MAX_METER = 64;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private static final int KEY_OTHER = 0;
+    private static final int KEY_METER = 1;
+    private static final int KEY_TIME = 2;
+    private static final int KEY_VALUE = 3;
+
+    private final InputStream in;
+    private final String defaultMeter;
+    private final long now;
+    private final long minTime;
+    private final long maxTime;
+    private final ToLongFunction<String> lastTime;
+    private final Map<String, Long> floors = new HashMap<>();
+    private final PowerBatch batch;
+    private final Sink sink;
+
+    private final byte[] buf = new byte[8192];
+    private int pos;
+    private int limit;
+    private long offset;
+    private final char[] chars = new char[MAX_METER];
+    private String lastMeter;
+    private int rejected;
+
+    // number() 결과
+    private long numLong;
+    private double numDouble;
+    private boolean numIntegral;
+
+    public PowerBulkParser(InputStream in, String defaultMeter, long now, long maxBackfill, long maxSkew,
+                           ToLongFunction<String> lastTime, PowerBatch batch, Sink sink) {
+        this.in = in;
+        this.defaultMeter = defaultMeter;
+        this.now = now;
+        this.minTime = now - Math.min(Math.max(maxBackfill, 0), now);
+        this.maxTime = now + Math.min(Math.max(maxSkew, 0), Long.MAX_VALUE - now);
+        this.lastTime = lastTime;
+        this.batch = batch;
+        this.sink = sink;
+    }
+
+    // 미터 이름이 잘못됐거나, 값이 없거나 숫자가 아니거나, 시각이 허용 범위 밖이거나 거꾸로 간 항목 수 (형식 오류는 IllegalArgumentException)
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void json() throws IOException, InterruptedException {
+        int c = next();
+        boolean array = c == '[';
+        if (array) {
+            c = next();
+            if (c == ']') {
+                array = false;
+                c = next();
+            }
+        }
+        while (c != -1) {
+            if (c != '{') {
+                throw error("'{' expected");
+            }
+            object();
+            c = next();
+            if (c == ',') {
+                c = next();
+            } else if (array && c == ']') {
+                array = false;
+                c = next();
+            }
+            if (!array && c != -1 && c != '{') {
+                throw error("unexpected character");
+            }
+        }
+        if (array) {
+            throw error("']' expected");
+        }
+        flush();
+    }
+
+    public void binary() throws IOException, InterruptedException {
+        int len;
+        while ((len = read()) != -1) {
+            String meter = len == 0 ? defaultMeter : binaryMeter(len);
+            long time = readLong();
+            double value = Double.longBitsToDouble(readLong());
+            add(meter, time, value, true);
+        }
+        flush();
+    }
+
+    private void object() throws IOException, InterruptedException {
+        String meter = defaultMeter;
+        long time = 0;
+        double value = 0;
+        boolean hasValue = false;
+        boolean valid = true;
+        int c = next();
+        if (c != '}') {
+            while (true) {
+                if (c != '"') {
+                    throw error("key expected");
+                }
+                int key = key();
+                if (next() != ':') {
+                    throw error("':' expected");
+                }
+                switch (key) {
+                    case KEY_METER -> meter = stringOrNull();
+                    case KEY_TIME -> {
+                        if (numberOrSkip()) {
+                            time = numIntegral ? numLong : (long) numDouble;
+                        } else {
+                            valid = false;
+                        }
+                    }
+                    case KEY_VALUE -> {
+                        if (numberOrSkip()) {
+                            value = numDouble;
+                            hasValue = true;
+                        } else {
+                            valid = false;
+                        }
+                    }
+                    default -> skipValue();
+                }
+                c = next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("',' or '}' expected");
+                }
+                c = next();
+            }
+        }
+        add(meter, time, value, hasValue && valid);
+    }
+
+    private void add(String meter, long time, double value, boolean hasValue) throws IOException, InterruptedException {
+        if (time == 0) {
+            time = now;
+        }
+        if (!hasValue || meter == null || !Double.isFinite(value) || time < minTime || time > maxTime) {
+            rejected++;
+            return;
+        }
+        Long floor = floors.get(meter);
+        if (time < (floor == null ? lastTime.applyAsLong(meter) : floor)) {
+            rejected++;
+            return;
+        }
+        floors.put(meter, time);
+        batch.add(meter, time, value);
+        if (batch.isFull()) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException, InterruptedException {
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+            batch.clear();
+        }
+    }
+
+    // 여는 따옴표 다음부터 읽는다
+    private int key() throws IOException {
+        int len = 0;
+        int c;
+        while ((c = read()) != '"') {
+            if (c == -1) {
+                throw error("unterminated string");
+            }
+            if (c == '\\') {
+                read();
+                len = MAX_METER;
+            }
+            if (len < MAX_METER) {
+                chars[len] = (char) c;
+            }
+            len++;
+        }
+        if (is(len, "meter") || is(len, "m")) {
+            return KEY_METER;
+        }
+        if (is(len, "t") || is(len, "time") || is(len, "timestamp")) {
+            return KEY_TIME;
+        }
+        if (is(len, "v") || is(len, "value")) {
+            return KEY_VALUE;
+        }
+        return KEY_OTHER;
+    }
+
+    private boolean is(int len, String key) {
+        if (len != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (chars[i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 허용되지 않는 문자가 있으면 null (항목은 rejected 로 센다)
+    private String stringMeter() throws IOException {
+        int len = 0;
+        boolean valid = true;
+        int c;
+        while ((c = read()) != '"') {
+            if (c == -1) {
+                throw error("unterminated string");
+            }
+            if (c == '\\') {
+                read();
+                valid = false;
+            } else if (len < MAX_METER && isMeterChar(c)) {
+                chars[len] = (char) c;
+            } else {
+                valid = false;
+            }
+            len++;
+        }
+        return valid && len > 0 ? meter(len) : null;
+    }
+
+    // "meter": null 같은 문자열이 아닌 값은 건너뛰고 null
+    private String stringOrNull() throws IOException {
+        int c = next();
+        if (c == '"') {
+            return stringMeter();
+        }
+        if (c == -1) {
+            throw error("unexpected end");
+        }
+        unread();
+        skipValue();
+        return null;
+    }
+
+    private String binaryMeter(int len) throws IOException {
+        boolean valid = len <= MAX_METER;
+        for (int i = 0; i < len; i++) {
+            int c = read();
+            if (c == -1) {
+                throw error("truncated record");
+            }
+            if (valid && isMeterChar(c)) {
+                chars[i] = (char) c;
+            } else {
+                valid = false;
+            }
+        }
+        return valid ? meter(len) : null;
+    }
+
+    // 같은 미터가 이어지는 경우가 대부분이라 직전 이름과 같으면 String 을 새로 만들지 않는다
+    private String meter(int len) {
+        String last = lastMeter;
+        if (last != null && is(len, last)) {
+            return last;
+        }
+        lastMeter = new String(chars, 0, len);
+        return lastMeter;
+    }
+
+    private static boolean isMeterChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private long readLong() throws IOException {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            int c = read();
+            if (c == -1) {
+                throw error("truncated record");
+            }
+            v = (v << 8) | c;
+        }
+        return v;
+    }
+
+    // 숫자 하나를 읽는다. 유효 자릿수 15 이하, 10 의 지수 22 이하면 나눗셈/곱셈 한 번으로 정확히 구하고,
+    // 그 밖의 경우만 Double.parseDouble 로 넘긴다
+    private void number() throws IOException {
+        int c = next();
+        boolean negative = false;
+        long mantissa = 0;
+        int digits = 0;
+        int exp = 0;
+        boolean integral = true;
+        if (c == '-') {
+            negative = true;
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw error("number expected");
+        }
+        while (c >= '0' && c <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exp++;
+                digits++;
+            }
+            c = read();
+        }
+        if (c == '.') {
+            integral = false;
+            c = read();
+            while (c >= '0' && c <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exp--;
+                } else {
+                    digits++;
+                }
+                c = read();
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            c = read();
+            boolean expNegative = c == '-';
+            if (c == '-' || c == '+') {
+                c = read();
+            }
+            int e = 0;
+            while (c >= '0' && c <= '9') {
+                e = Math.min(e * 10 + (c - '0'), 10000);
+                c = read();
+            }
+            exp += expNegative ? -e : e;
+        }
+        if (c != -1) {
+            unread();
+        }
+        if (integral && exp == 0 && digits <= 18) {
+            numLong = negative ? -mantissa : mantissa;
+            numDouble = numLong;
+            numIntegral = true;
+            return;
+        }
+        numIntegral = false;
+        if (digits <= 15 && exp >= -22 && exp <= 22) {
+            double d = exp < 0 ? mantissa / POW10[-exp] : mantissa * POW10[exp];
+            numDouble = negative ? -d : d;
+        } else {
+            // 드문 경우: 자릿수가 많은 값은 정확한 반올림을 위해 문자열로 다시 계산한다
+            double d = Double.parseDouble(mantissa + "E" + exp);
+            numDouble = negative ? -d : d;
+        }
+        numLong = (long) numDouble;
+    }
+
+    // 숫자면 number() 결과를 채우고 true. null, 문자열, true/false 는 건너뛰고 false ("meter": null 처럼 항목만 rejected)
+    private boolean numberOrSkip() throws IOException {
+        int c = next();
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            unread();
+            number();
+            return true;
+        }
+        if (c == '"' || c == 'n' || c == 't' || c == 'f') {
+            unread();
+            skipValue();
+            return false;
+        }
+        throw error("number expected");
+    }
+
+    // 모르는 키의 값은 건너뛴다 (중첩 객체/배열 포함)
+    private void skipValue() throws IOException {
+        int depth = 0;
+        int c = next();
+        do {
+            if (c == -1) {
+                throw error("unexpected end");
+            }
+            if (c == '"') {
+                while ((c = read()) != '"') {
+                    if (c == -1) {
+                        throw error("unterminated string");
+                    }
+                    if (c == '\\') {
+                        read();
+                    }
+                }
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth < 0) {
+                    throw error("unexpected '" + (char) c + "'");
+                }
+            } else if (depth == 0) {
+                // 숫자, true/false/null: 구분자가 나올 때까지
+                while ((c = read()) != -1 && c != ',' && c != '}' && c != ']' && !isSpace(c)) {
+                }
+                if (c != -1) {
+                    unread();
+                }
+                return;
+            }
+            if (depth == 0) {
+                return;
+            }
+            c = read();
+        } while (true);
+    }
+
+    private int next() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (isSpace(c));
+        return c;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            offset += limit;
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos++] & 0xff;
+    }
+
+    // 바로 앞에서 read() 로 읽은 한 글자를 되돌린다
+    private void unread() {
+        pos--;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Malformed bulk body at byte " + (offset + pos) + ": " + message);
+    }
+}
@@ -0,0 +1,108 @@
+package com.office.power;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// /getChart 응답 캐시.
+// 측정값은 계속 들어오므로 버전(누적 샘플 수)이 바뀔 때마다 전체를 다시 만들면 매 요청이 전체 직렬화가 된다.
+// 그래서 전체 응답은 refresh-ms 에 한 번만 다시 만들고, 그 사이에는 만들어 둔 (조금 지난) 문자열을 돌려준다.
+// 화면은 응답의 last 로 since 요청을 보내 그 뒤를 채운다. since 요청은 캐시 없이 새로 들어온 구간만 직렬화한다.
+@Component
+@RequiredArgsConstructor
+public class PowerChartCache {
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    // 재시작 후 버전이 다시 0부터 시작해도 이전 ETag 와 겹치지 않도록 붙인다
+    private static final long BOOT_ID = System.currentTimeMillis();
+
+    // 미터 x maxPoints x mode 조합이 끝없이 늘어나지 않도록 제한
+    private static final int MAX_ENTRIES = 64;
+
+    private final PowerStore powerStore;
+    private final Map<String, Chart> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.power.chart.refresh-ms:5000}")
+    private long refreshMs;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Chart {
+        private final long version;
+        private final String json;
+        private final long built;
+
+        Chart(long version, String json) {
+            this(version, json, 0);
+        }
+
+        public String getEtag() {
+            return "\"" + BOOT_ID + "-" + version + "\"";
+        }
+    }
+
+    // since 가 null 이면 전체, 아니면 since 이후의 점들만. maxPoints > 0 이면 그 개수 이하로 다운샘플링
+    public Chart chart(String meter, Long since, int maxPoints, PowerDownsampler.Mode mode) {
+        PowerSeries series = powerStore.get(meter);
+        if (series == null) {
+            return new Chart(0, toJson(PowerPoints.EMPTY, since));
+        }
+        long version = series.count();
+        if (since != null) {
+            PowerPoints points = series.range(since + 1, Long.MAX_VALUE);
+            return new Chart(version, toJson(PowerDownsampler.downsample(points, maxPoints, mode), since));
+        }
+        String key = maxPoints > 0 ? meter + ":" + mode + ":" + maxPoints : meter;
+        Chart cached = cache.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && (cached.version == version || now - cached.built < refreshMs)) {
+            return cached;
+        }
+        // 버전을 먼저 읽고 데이터를 읽으므로 캐시된 내용은 항상 그 버전 이상이다
+        PowerPoints points = PowerDownsampler.downsample(series.all(), maxPoints, mode);
+        Chart chart = new Chart(version, toJson(points, null), now);
+        if (cached != null || cache.size() < MAX_ENTRIES) {
+            cache.put(key, chart);
+        }
+        return chart;
+    }
+
+    // {'x':[], result:[{name:'Power', data:[]}], last: <ms>}
+    private String toJson(PowerPoints points, Long since) {
+        int n = points.getSize();
+        StringBuilder sb = new StringBuilder(64 + n * 32);
+        sb.append("{\"result\":[{\"name\":\"Power\",\"data\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            double v = points.value(i);
+            if (Double.isFinite(v)) {
+                sb.append(v);
+            } else {
+                sb.append("null");
+            }
+        }
+        sb.append("]}],\"x\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"');
+            TIME_FORMAT.formatTo(Instant.ofEpochMilli(points.time(i)), sb);
+            sb.append('"');
+        }
+        sb.append("],\"last\":");
+        long last = n > 0 ? points.time(n - 1) : (since != null ? since : 0);
+        sb.append(last).append('}');
+        return sb.toString();
+    }
+}
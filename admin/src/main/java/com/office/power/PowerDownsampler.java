@@ -0,0 +1,160 @@
+package com.office.power;
+
+// 차트용 다운샘플링. 입력을 한 번만 훑어서 maxPoints 이하의 점으로 줄인다.
+//  - LTTB   : Largest-Triangle-Three-Buckets, 모양(피크 포함)을 가장 잘 유지
+//  - MINMAX : 버킷마다 최소/최대 두 점 (시간순)
+//  - AVG    : 버킷마다 평균 한 점
+public class PowerDownsampler {
+
+    public enum Mode {
+        LTTB, MINMAX, AVG;
+
+        // 모르는 이름이면 null (컨트롤러가 400 으로 돌려준다)
+        public static Mode of(String name) {
+            if (name == null) {
+                return LTTB;
+            }
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name.trim())) {
+                    return mode;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static PowerPoints downsample(PowerPoints points, int maxPoints, Mode mode) {
+        if (maxPoints <= 0 || points.getSize() <= maxPoints) {
+            return points;
+        }
+        switch (mode) {
+            case MINMAX:
+                return minMax(points, maxPoints);
+            case AVG:
+                return average(points, maxPoints);
+            default:
+                return lttb(points, maxPoints);
+        }
+    }
+
+    public static PowerPoints lttb(PowerPoints points, int threshold) {
+        int n = points.getSize();
+        if (threshold >= n || threshold <= 0) {
+            return points;
+        }
+        if (threshold < 3) {
+            // 삼각형을 만들 수 없으므로 끝점만 (한 점이면 최신값)
+            return threshold == 1
+                    ? new PowerPoints(new long[]{points.time(n - 1)}, new double[]{points.value(n - 1)}, 1)
+                    : new PowerPoints(new long[]{points.time(0), points.time(n - 1)}, new double[]{points.value(0), points.value(n - 1)}, 2);
+        }
+        long base = points.time(0);
+        long[] t = new long[threshold];
+        double[] v = new double[threshold];
+        int out = 0;
+
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        t[out] = points.time(0);
+        v[out++] = points.value(0);
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // 다음 버킷의 평균점
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += points.time(j) - base;
+                avgY += points.value(j);
+            }
+            int avgLen = avgEnd - avgStart;
+            avgX /= avgLen;
+            avgY /= avgLen;
+
+            // 현재 버킷에서 (이전 선택점, 다음 버킷 평균점)과 가장 큰 삼각형을 만드는 점
+            int from = (int) Math.floor(i * every) + 1;
+            int to = (int) Math.floor((i + 1) * every) + 1;
+            double ax = points.time(a) - base;
+            double ay = points.value(a);
+            double maxArea = -1;
+            int next = from;
+            for (int j = from; j < to; j++) {
+                double area = Math.abs((ax - avgX) * (points.value(j) - ay)
+                        - (ax - (points.time(j) - base)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            t[out] = points.time(next);
+            v[out++] = points.value(next);
+            a = next;
+        }
+        t[out] = points.time(n - 1);
+        v[out++] = points.value(n - 1);
+        return new PowerPoints(t, v, out);
+    }
+
+    public static PowerPoints minMax(PowerPoints points, int maxPoints) {
+        if (maxPoints < 2) {
+            // 최소/최대 한 쌍도 못 넣으면 평균 한 점
+            return average(points, Math.max(maxPoints, 1));
+        }
+        int n = points.getSize();
+        int buckets = maxPoints / 2;
+        long[] t = new long[buckets * 2];
+        double[] v = new double[buckets * 2];
+        int out = 0;
+        for (int b = 0; b < buckets; b++) {
+            int from = (int) ((long) b * n / buckets);
+            int to = (int) ((long) (b + 1) * n / buckets);
+            if (from >= to) {
+                continue;
+            }
+            int min = from;
+            int max = from;
+            for (int j = from + 1; j < to; j++) {
+                if (points.value(j) < points.value(min)) {
+                    min = j;
+                }
+                if (points.value(j) > points.value(max)) {
+                    max = j;
+                }
+            }
+            int first = Math.min(min, max);
+            int second = Math.max(min, max);
+            t[out] = points.time(first);
+            v[out++] = points.value(first);
+            if (second != first) {
+                t[out] = points.time(second);
+                v[out++] = points.value(second);
+            }
+        }
+        return new PowerPoints(t, v, out);
+    }
+
+    public static PowerPoints average(PowerPoints points, int maxPoints) {
+        int n = points.getSize();
+        long[] t = new long[maxPoints];
+        double[] v = new double[maxPoints];
+        int out = 0;
+        for (int b = 0; b < maxPoints; b++) {
+            int from = (int) ((long) b * n / maxPoints);
+            int to = (int) ((long) (b + 1) * n / maxPoints);
+            if (from >= to) {
+                continue;
+            }
+            long base = points.time(from);
+            long sumT = 0;
+            double sumV = 0;
+            for (int j = from; j < to; j++) {
+                sumT += points.time(j) - base;
+                sumV += points.value(j);
+            }
+            t[out] = base + sumT / (to - from);
+            v[out++] = sumV / (to - from);
+        }
+        return new PowerPoints(t, v, out);
+    }
+}
@@ -0,0 +1,23 @@
+package com.office.power;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+// 세그먼트 로그의 파일 하나. 쓰고 있거나 봉인된 원본(PowerSegment)과 압축본(PowerArchive)을 같이 읽는다.
+public interface PowerFile extends Closeable {
+    interface Visitor {
+        // false 를 돌려주면 scan 을 멈춘다
+        boolean accept(long time, double value);
+    }
+
+    Path getPath();
+
+    int count();
+
+    long firstTime();
+
+    long lastTime();
+
+    // [from, to] 구간의 레코드를 시간 순으로 넘긴다. visitor 가 멈추면 false
+    boolean scan(long from, long to, Visitor visitor);
+}
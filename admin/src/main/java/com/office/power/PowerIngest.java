@@ -0,0 +1,47 @@
+package com.office.power;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// IoT 측정값 수집 경로. 저장소에 쌓고 최신값을 갱신한 뒤 PowerListener 들에게 알린다.
+// 저장소가 받지 않은 측정값(미터의 마지막 시각보다 이른 것)은 리스너(세그먼트, 집계, 알림)에도 넘기지 않는다.
+// 요청 단계(PowerBulkParser)에서 먼저 거르지만, 동시에 들어온 요청끼리 순서가 엇갈리면 여기서 버려진다.
+@Component
+@RequiredArgsConstructor
+public class PowerIngest {
+    private final PowerStore powerStore;
+    private final PowerSamplePublisher publisher;
+    private final List<PowerListener> listeners;
+
+    // 저장소가 받지 않았으면 false
+    public boolean ingest(String meter, long time, double value) {
+        if (!powerStore.append(meter, time, value)) {
+            return false;
+        }
+        publisher.publish(new PowerSample(meter, time, value));
+        for (PowerListener listener : listeners) {
+            listener.onSample(meter, time, value);
+        }
+        return true;
+    }
+
+    // 대량 수집용. 저장과 리스너 통지는 건마다 하고, 최신값(PowerSample) 은 같은 미터가 이어지는 구간의 마지막 것만 만든다
+    public void ingestAll(String[] meters, long[] times, double[] values, int size) {
+        int latest = -1;    // 같은 미터 구간에서 마지막으로 저장된 것
+        for (int i = 0; i < size; i++) {
+            String meter = meters[i];
+            if (powerStore.append(meter, times[i], values[i])) {
+                latest = i;
+                for (PowerListener listener : listeners) {
+                    listener.onSample(meter, times[i], values[i]);
+                }
+            }
+            if ((i == size - 1 || !meter.equals(meters[i + 1])) && latest >= 0) {
+                publisher.publish(new PowerSample(meter, times[latest], values[latest]));
+                latest = -1;
+            }
+        }
+    }
+}
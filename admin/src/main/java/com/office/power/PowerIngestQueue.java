@@ -0,0 +1,168 @@
+package com.office.power;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// /iotPower/bulk 요청 스레드와 PowerIngest 사이의 고정 크기 링 큐.
+// 요청은 batch 단위로 한 번에 복사해 넣고, 쓰기 스레드 하나(power-ingest)가 꺼내서 PowerIngest.ingestAll 로 넘긴다.
+// 배열은 시작할 때 한 번만 만들고, 가득 차면 offer-timeout-ms 만큼 기다린 뒤 남은 건 거절한다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PowerIngestQueue {
+    private static final int DRAIN_CHUNK = 4096;
+
+    private final PowerIngest powerIngest;
+
+    @Value("${app.power.ingest.queue-capacity:65536}")
+    private int capacity;
+    @Value("${app.power.ingest.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private String[] meters;
+    private long[] times;
+    private double[] values;
+    private int head;
+    private int size;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        meters = new String[capacity];
+        times = new long[capacity];
+        values = new double[capacity];
+        running = true;
+        writer = new Thread(this::drain, "power-ingest");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 남은 것을 다 쓰고 끝낸다
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // 넣은 건수를 돌려준다. 큐가 계속 가득 차 있으면 batch 크기보다 작을 수 있다
+    public int offer(PowerBatch batch) throws InterruptedException {
+        int n = batch.getSize();
+        int done = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        lock.lockInterruptibly();
+        try {
+            while (done < n && running) {
+                int free = capacity - size;
+                if (free == 0) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        break;
+                    }
+                    notFull.awaitNanos(left);
+                    continue;
+                }
+                int k = Math.min(free, n - done);
+                int tail = (head + size) % capacity;
+                int first = Math.min(k, capacity - tail);
+                System.arraycopy(batch.getMeters(), done, meters, tail, first);
+                System.arraycopy(batch.getTimes(), done, times, tail, first);
+                System.arraycopy(batch.getValues(), done, values, tail, first);
+                if (first < k) {
+                    System.arraycopy(batch.getMeters(), done + first, meters, 0, k - first);
+                    System.arraycopy(batch.getTimes(), done + first, times, 0, k - first);
+                    System.arraycopy(batch.getValues(), done + first, values, 0, k - first);
+                }
+                size += k;
+                done += k;
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        accepted.add(done);
+        dropped.add(n - done);
+        return done;
+    }
+
+    private void drain() {
+        String[] m = new String[DRAIN_CHUNK];
+        long[] t = new long[DRAIN_CHUNK];
+        double[] v = new double[DRAIN_CHUNK];
+        while (true) {
+            int k;
+            lock.lock();
+            try {
+                while (size == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    notEmpty.await();
+                }
+                k = Math.min(size, DRAIN_CHUNK);
+                int first = Math.min(k, capacity - head);
+                System.arraycopy(meters, head, m, 0, first);
+                System.arraycopy(times, head, t, 0, first);
+                System.arraycopy(values, head, v, 0, first);
+                if (first < k) {
+                    System.arraycopy(meters, 0, m, first, k - first);
+                    System.arraycopy(times, 0, t, first, k - first);
+                    System.arraycopy(values, 0, v, first, k - first);
+                }
+                head = (head + k) % capacity;
+                size -= k;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                powerIngest.ingestAll(m, t, v, k);
+            } catch (RuntimeException e) {
+                log.warn("Power ingest failed: {}", e.getMessage());
+            }
+            written.add(k);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            result.put("queued", size);
+        } finally {
+            lock.unlock();
+        }
+        result.put("capacity", capacity);
+        result.put("accepted", accepted.sum());
+        result.put("dropped", dropped.sum());
+        result.put("written", written.sum());
+        return result;
+    }
+}
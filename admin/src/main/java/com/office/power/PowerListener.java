@@ -0,0 +1,6 @@
+package com.office.power;
+
+// PowerIngest 가 측정값을 받을 때마다 호출한다. 샘플마다 불리므로 가볍게 처리해야 한다.
+public interface PowerListener {
+    void onSample(String meter, long time, double value);
+}
@@ -0,0 +1,119 @@
+package com.office.power;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+// 기존 logback 텍스트 로그(power.log, power.yyyy-MM-dd.i.log.gz)를 세그먼트로 옮긴다 (app.power.segment.import-on-start=true).
+// 미터에 이미 세그먼트가 있으면 그 첫 측정값보다 앞선 것만 별도의 앞쪽 세그먼트로 가져오므로, 나중에 켜도 되고 여러 번 띄워도 중복되지 않는다.
+// 그 날짜 이후에 회전된 파일은 열지 않는다.
+@Slf4j
+class PowerLogImporter {
+    static final Pattern ARCHIVE = Pattern.compile("power\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)\\.log\\.gz");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PowerSegmentLog segmentLog;
+
+    PowerLogImporter(PowerSegmentLog segmentLog) {
+        this.segmentLog = segmentLog;
+    }
+
+    void importDir(Path logDir, String meter) throws IOException {
+        long before = segmentLog.firstTime(meter);
+        List<Path> files = logFiles(logDir);
+        int read = 0;
+        long total = 0;
+        try (PowerSegmentLog.Backfill backfill = segmentLog.backfill(meter)) {
+            for (Path file : files) {
+                if (rotatedAfter(file, before)) {
+                    continue;
+                }
+                total += importFile(file, backfill, before);
+                read++;
+            }
+            backfill.commit();
+        }
+        log.info("Power log imported: {} files, {} records before {}", read, total, before == Long.MAX_VALUE ? "-" : before);
+    }
+
+    // 회전된 파일의 날짜는 그 안의 측정값 날짜다. before 의 날짜보다 뒤면 모두 기존 데이터와 겹친다
+    static boolean rotatedAfter(Path file, long before) {
+        if (before == Long.MAX_VALUE || !ARCHIVE.matcher(file.getFileName().toString()).matches()) {
+            return false;
+        }
+        LocalDate day = Instant.ofEpochMilli(before).atZone(ZoneId.systemDefault()).toLocalDate();
+        return LocalDate.parse(archiveGroup(file, 1)).isAfter(day);
+    }
+
+    // 압축된 과거 파일을 날짜, 번호 순으로 놓고 지금 쓰고 있는 power.log 를 마지막에 둔다
+    static List<Path> logFiles(Path logDir) throws IOException {
+        List<Path> archives = new ArrayList<>();
+        if (Files.isDirectory(logDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(logDir, "power.*.log.gz")) {
+                for (Path file : files) {
+                    if (ARCHIVE.matcher(file.getFileName().toString()).matches()) {
+                        archives.add(file);
+                    }
+                }
+            }
+        }
+        archives.sort(Comparator.comparing((Path p) -> archiveGroup(p, 1)).thenComparingInt(p -> Integer.parseInt(archiveGroup(p, 2))));
+        Path active = logDir.resolve("power.log");
+        if (Files.exists(active)) {
+            archives.add(active);
+        }
+        return archives;
+    }
+
+    static String archiveGroup(Path file, int group) {
+        Matcher m = ARCHIVE.matcher(file.getFileName().toString());
+        m.matches();
+        return m.group(group);
+    }
+
+    private long importFile(Path file, PowerSegmentLog.Backfill backfill, long before) throws IOException {
+        long n = 0;
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = file.toString().endsWith(".gz") ? new GZIPInputStream(raw, 64 * 1024) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (comma < 0) {
+                    continue;
+                }
+                try {
+                    long time = LocalDateTime.parse(line.substring(0, comma), TIME_FORMAT)
+                            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    double value = Double.parseDouble(line.substring(comma + 1).trim());
+                    if (time < before && Double.isFinite(value)) {
+                        backfill.append(time, value);
+                        n++;
+                    }
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    // 값이 아닌 줄(요청 본문 로그 등)은 건너뛴다
+                }
+            }
+        }
+        return n;
+    }
+}
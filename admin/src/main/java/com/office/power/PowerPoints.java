@@ -0,0 +1,30 @@
+package com.office.power;
+
+import lombok.Getter;
+
+@Getter
+public class PowerPoints {
+    public static final PowerPoints EMPTY = new PowerPoints(new long[0], new double[0], 0);
+
+    private final long[] times;
+    private final double[] values;
+    private final int size;
+
+    public PowerPoints(long[] times, double[] values, int size) {
+        this.times = times;
+        this.values = values;
+        this.size = size;
+    }
+
+    public long time(int i) {
+        return times[i];
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,148 @@
+package com.office.power;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+// PowerSegmentLog.scan 으로 받은 측정값을 바로 JSON 배열 / CSV 로 쓴다.
+// step(ms) 이 0 이면 원본 그대로, 아니면 step 단위 min/max/avg/count 로 묶는다. 버킷 하나만 들고 있으므로 구간 길이와 관계없이 메모리가 일정하다
+public class PowerRangeWriter implements PowerFile.Visitor {
+    public enum Format {
+        JSON, CSV;
+
+        // 모르는 이름이면 null (컨트롤러가 400 으로 돌려준다)
+        public static Format of(String name) {
+            if (name == null) {
+                return JSON;
+            }
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Writer out;
+    private final Format format;
+    private final long step;
+    private long rows;
+
+    private long bucket;
+    private double min;
+    private double max;
+    private double sum;
+    private int count;
+
+    public PowerRangeWriter(Writer out, Format format, long step) {
+        this.out = out;
+        this.format = format;
+        this.step = Math.max(step, 0);
+    }
+
+    public void start() throws IOException {
+        if (format == Format.JSON) {
+            out.write('[');
+        } else {
+            out.write(step == 0 ? "time,value\n" : "time,min,max,avg,count\n");
+        }
+    }
+
+    @Override
+    public boolean accept(long time, double value) {
+        try {
+            if (step == 0) {
+                row(time, value);
+                return true;
+            }
+            long b = Math.floorDiv(time, step) * step;
+            if (count > 0 && b != bucket) {
+                flushBucket();
+            }
+            if (count == 0) {
+                bucket = b;
+                min = value;
+                max = value;
+            } else {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            sum += value;
+            count++;
+            return true;
+        } catch (IOException e) {
+            // 클라이언트가 끊으면 여기서 scan 을 멈춘다
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        if (count > 0) {
+            flushBucket();
+        }
+        if (format == Format.JSON) {
+            out.write(']');
+        }
+        out.flush();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void row(long time, double value) throws IOException {
+        if (format == Format.JSON) {
+            out.write(rows == 0 ? "{\"t\":" : ",{\"t\":");
+            out.write(Long.toString(time));
+            out.write(",\"v\":");
+            out.write(number(value));
+            out.write('}');
+        } else {
+            out.write(Long.toString(time));
+            out.write(',');
+            out.write(number(value));
+            out.write('\n');
+        }
+        rows++;
+    }
+
+    private void flushBucket() throws IOException {
+        double avg = sum / count;
+        if (format == Format.JSON) {
+            out.write(rows == 0 ? "{\"t\":" : ",{\"t\":");
+            out.write(Long.toString(bucket));
+            out.write(",\"min\":");
+            out.write(number(min));
+            out.write(",\"max\":");
+            out.write(number(max));
+            out.write(",\"avg\":");
+            out.write(number(avg));
+            out.write(",\"count\":");
+            out.write(Integer.toString(count));
+            out.write('}');
+        } else {
+            out.write(Long.toString(bucket));
+            out.write(',');
+            out.write(number(min));
+            out.write(',');
+            out.write(number(max));
+            out.write(',');
+            out.write(number(avg));
+            out.write(',');
+            out.write(Integer.toString(count));
+            out.write('\n');
+        }
+        rows++;
+        sum = 0;
+        count = 0;
+    }
+
+    // JSON 에는 NaN/Infinity 가 없으므로 null (CSV 는 빈 칸)
+    private String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return format == Format.JSON ? "null" : "";
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,91 @@
+package com.office.power;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 수집 경로에서 분/시간 단위 집계(min/max/avg/count)를 계속 갱신한다.
+// 구간 조회는 요청한 step 을 만족하는 가장 거친 단계를 골라서 원본을 다시 읽지 않는다.
+@Component
+@RequiredArgsConstructor
+public class PowerRollups implements PowerListener {
+    public static final long MINUTE = 60_000L;
+    public static final long HOUR = 3_600_000L;
+    public static final int MAX_BUCKETS = 100_000;
+
+    private final PowerStore powerStore;
+    private final Map<String, RollupTier[]> tiers = new ConcurrentHashMap<>();
+
+    @Value("${app.power.rollup.minute-capacity:43200}")
+    private int minuteCapacity;
+    @Value("${app.power.rollup.hour-capacity:8760}")
+    private int hourCapacity;
+    @Value("${app.power.max-meters:64}")
+    private int maxMeters;
+
+    @Override
+    public void onSample(String meter, long time, double value) {
+        RollupTier[] t = tiers.get(meter);
+        if (t == null) {
+            // 미터마다 분/시간 링을 잡으므로 저장소와 같은 max-meters 개까지만 만든다
+            if (tiers.size() >= maxMeters) {
+                return;
+            }
+            t = tiers.computeIfAbsent(meter, m -> new RollupTier[]{
+                    new RollupTier(MINUTE, minuteCapacity),
+                    new RollupTier(HOUR, hourCapacity)
+            });
+        }
+        t[0].add(time, value);
+        t[1].add(time, value);
+    }
+
+    // step(ms) 단위로 묶은 [from, to] 구간. step 이 1분보다 작으면 원본 링 버퍼를 사용한다.
+    // 버킷은 MAX_BUCKETS 개까지이고, 넘는 (뒤쪽) 버킷은 버리고 PowerBuckets.truncated 로 알린다
+    public PowerBuckets query(String meter, long from, long to, long step) {
+        long s = effectiveStep(step);
+        int capacity = (int) Math.min(MAX_BUCKETS, Math.max(1, bucketCount(from, to, step)));
+        RollupTier[] t = tiers.get(meter);
+        if (s >= HOUR && t != null) {
+            PowerBuckets out = new PowerBuckets(s, capacity);
+            t[1].query(from, to, out);
+            return out;
+        }
+        if (s >= MINUTE && t != null) {
+            PowerBuckets out = new PowerBuckets(s, capacity);
+            t[0].query(from, to, out);
+            return out;
+        }
+        PowerBuckets out = new PowerBuckets(s, capacity);
+        PowerSeries series = powerStore.get(meter);
+        if (series != null) {
+            PowerPoints points = series.range(from, to);
+            for (int i = 0; i < points.getSize(); i++) {
+                double v = points.value(i);
+                out.add(Math.floorDiv(points.time(i), out.getStep()) * out.getStep(), v, v, v, 1);
+            }
+        }
+        return out;
+    }
+
+    // 실제로 쓰는 step. 1분 이상은 분 단위, 1시간 이상은 시간 단위 집계를 쓰므로 그 배수로 내린다 (90분 -> 60분)
+    public static long effectiveStep(long step) {
+        if (step >= HOUR) {
+            return step / HOUR * HOUR;
+        }
+        if (step >= MINUTE) {
+            return step / MINUTE * MINUTE;
+        }
+        return Math.max(step, 1);
+    }
+
+    // [from, to] 를 effectiveStep(step) 으로 나눈 버킷 수 (from <= to). 넘치면 Long.MAX_VALUE
+    public static long bucketCount(long from, long to, long step) {
+        long s = effectiveStep(step);
+        long n = Math.floorDiv(to, s) - Math.floorDiv(from, s);
+        return n < 0 ? Long.MAX_VALUE : n + 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.office.power;
+
+import lombok.Getter;
+
+// 미터별 최신 측정값 스냅샷. 불변 객체라서 락 없이 여러 스레드가 공유한다.
+@Getter
+public final class PowerSample {
+    private final String meter;
+    private final long timestamp;
+    private final double value;
+    private final String json;
+
+    public PowerSample(String meter, long timestamp, double value) {
+        this.meter = meter;
+        this.timestamp = timestamp;
+        this.value = value;
+        this.json = "{\"timestamp\":" + timestamp + ",\"value\":" + value + "}";
+    }
+}
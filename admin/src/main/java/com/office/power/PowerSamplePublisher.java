@@ -0,0 +1,22 @@
+package com.office.power;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 미터별 최신 샘플을 보관한다. 수집 경로가 publish 하고 /getLastData 가 바로 읽는다.
+@Component
+public class PowerSamplePublisher {
+    private final Map<String, PowerSample> latest = new ConcurrentHashMap<>();
+
+    public void publish(PowerSample sample) {
+        // 늦게 도착한 과거 샘플이 최신값을 덮어쓰지 않도록 한다
+        latest.merge(sample.getMeter(), sample,
+                (old, cur) -> cur.getTimestamp() >= old.getTimestamp() ? cur : old);
+    }
+
+    public PowerSample latest(String meter) {
+        return latest.get(meter);
+    }
+}
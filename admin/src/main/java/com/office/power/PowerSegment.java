@@ -0,0 +1,212 @@
+package com.office.power;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 미터 하나의 바이너리 세그먼트 파일 (append-only, memory-mapped).
+// [헤더 64B][레코드 16B: epoch ms(long) + 값(double)] x capacity. 파일은 INITIAL_RECORDS 건 크기로 만들고
+// 가득 차면 capacity 까지 두 배씩 늘려서 다시 매핑한다 (미터가 많아도 처음부터 capacity 만큼 디스크를 잡지 않는다).
+// 헤더의 count 는 레코드를 쓴 다음에 올리므로, 중간에 죽어도 count 까지는 온전한 레코드다.
+// 시간은 단조 증가로 유지하고, RECORDS_PER_INDEX 건마다 시각을 메모리 인덱스에 두어 구간 탐색을 좁힌다.
+public class PowerSegment implements PowerFile {
+    public static final int HEADER = 64;
+    public static final int RECORD = 16;
+    static final long MAGIC = 0x5057_5253_4547_3031L;   // "PWRSEG01"
+    static final int RECORDS_PER_INDEX = 1024;
+    static final int INITIAL_RECORDS = 4096;
+
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int SEALED_OFFSET = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer map;
+    private int mapped;     // 지금 매핑된 레코드 수 (<= capacity)
+    private final int capacity;
+    private final long[] index;
+    private volatile int count;
+    private volatile boolean sealed;
+
+    private PowerSegment(Path path, FileChannel channel, MappedByteBuffer map, int mapped, int capacity, int count, boolean sealed) {
+        this.path = path;
+        this.channel = channel;
+        this.map = map;
+        this.mapped = mapped;
+        this.capacity = capacity;
+        this.index = new long[capacity / RECORDS_PER_INDEX + 1];
+        this.count = count;
+        this.sealed = sealed;
+        for (int i = 0; i < count; i += RECORDS_PER_INDEX) {
+            index[i / RECORDS_PER_INDEX] = time(i);
+        }
+    }
+
+    public static PowerSegment create(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int mapped = Math.min(capacity, INITIAL_RECORDS);
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) mapped * RECORD);
+        map.putLong(0, MAGIC);
+        map.putInt(CAPACITY_OFFSET, capacity);
+        map.putInt(COUNT_OFFSET, 0);
+        map.putInt(SEALED_OFFSET, 0);
+        return new PowerSegment(path, channel, map, mapped, capacity, 0, false);
+    }
+
+    public static PowerSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            channel.read(header, 0);
+            if (header.getLong(0) != MAGIC) {
+                throw new IOException("Not a power segment: " + path);
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            int count = header.getInt(COUNT_OFFSET);
+            int mapped = (int) Math.min(capacity, (channel.size() - HEADER) / RECORD);
+            if (capacity <= 0 || count < 0 || count > mapped) {
+                throw new IOException("Corrupt power segment header: " + path);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) mapped * RECORD);
+            return new PowerSegment(path, channel, map, mapped, capacity, count, header.getInt(SEALED_OFFSET) != 0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public int count() {
+        return count;
+    }
+
+    public boolean isFull() {
+        return count == capacity;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    public long time(int i) {
+        return map.getLong(HEADER + i * RECORD);
+    }
+
+    public double value(int i) {
+        return map.getDouble(HEADER + i * RECORD + 8);
+    }
+
+    @Override
+    public long firstTime() {
+        return count == 0 ? Long.MIN_VALUE : time(0);
+    }
+
+    @Override
+    public long lastTime() {
+        int n = count;
+        return n == 0 ? Long.MIN_VALUE : time(n - 1);
+    }
+
+    // 쓰는 스레드는 하나여야 하고 시각은 직전 레코드보다 이르면 안 된다 (PowerSegmentLog 가 미터별로 동기화하고 거른다)
+    public boolean append(long time, double value) throws IOException {
+        int n = count;
+        if (n == capacity || sealed) {
+            return false;
+        }
+        if (n == mapped) {
+            grow();
+        }
+        MappedByteBuffer m = map;
+        int offset = HEADER + n * RECORD;
+        m.putLong(offset, time);
+        m.putDouble(offset + 8, value);
+        if (n % RECORDS_PER_INDEX == 0) {
+            index[n / RECORDS_PER_INDEX] = time;
+        }
+        m.putInt(COUNT_OFFSET, n + 1);
+        count = n + 1;
+        return true;
+    }
+
+    // 파일을 늘려서 다시 매핑한다. 이전 매핑은 같은 파일을 보므로 읽는 쪽이 들고 있어도 된다
+    private void grow() throws IOException {
+        map.force();
+        int next = (int) Math.min(capacity, (long) mapped * 2);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) next * RECORD);
+        mapped = next;
+    }
+
+    // 더 이상 쓰지 않는 세그먼트로 표시한다
+    public void seal() {
+        map.putInt(SEALED_OFFSET, 1);
+        sealed = true;
+        map.force();
+    }
+
+    public void force() {
+        map.force();
+    }
+
+    // time >= t 인 첫 레코드 (없으면 count)
+    public int lowerBound(long t) {
+        return search(t, false);
+    }
+
+    // time > t 인 첫 레코드 (없으면 count)
+    public int upperBound(long t) {
+        return search(t, true);
+    }
+
+    // 인덱스로 블록을 고른 다음 그 블록 안에서만 이진 탐색한다
+    private int search(long t, boolean upper) {
+        int n = count;
+        int blocks = (n + RECORDS_PER_INDEX - 1) / RECORDS_PER_INDEX;
+        int lo = 0;
+        int hi = blocks;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (upper ? index[mid] <= t : index[mid] < t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        // 답은 (lo-1) 블록 안이거나 lo 블록의 첫 레코드
+        int from = Math.max(0, (lo - 1) * RECORDS_PER_INDEX);
+        int to = Math.min(n, lo * RECORDS_PER_INDEX);
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (upper ? time(mid) <= t : time(mid) < t) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    @Override
+    public boolean scan(long from, long to, Visitor visitor) {
+        int end = upperBound(to);
+        for (int i = lowerBound(from); i < end; i++) {
+            if (!visitor.accept(time(i), value(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
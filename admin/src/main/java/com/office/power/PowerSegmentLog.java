@@ -0,0 +1,450 @@
+package com.office.power;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 전력 측정값의 영구 저장소. 미터별 디렉토리에 PowerSegment 파일을 이어 붙인다 ({dir}/{meter}/{첫 시각}.seg).
+// logback 텍스트 로그(power.log) 대신 이것을 기준으로 구간 조회, 재시작 후 복구(PowerStore/PowerRollups)를 한다.
+// 봉인된 세그먼트는 주기적으로 PowerArchive(.gor) 로 압축해서 바꿔 끼우고, 보존 기간이 지난 압축본은 지운다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PowerSegmentLog implements PowerListener {
+    static final String SUFFIX = ".seg";
+    static final String ARCHIVE_SUFFIX = ".gor";
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private final PowerStore powerStore;
+    private final PowerRollups powerRollups;
+    private final PowerSamplePublisher publisher;
+
+    @Value("${app.power.segment.dir:${app.dir.readLogDir}../segments/}")
+    private String dir;
+    @Value("${app.power.segment.records:604800}")
+    private int records;
+    @Value("${app.power.capacity:86400}")
+    private int storeCapacity;
+    @Value("${app.power.segment.import-on-start:false}")
+    private boolean importOnStart;
+    @Value("${app.dir.readLogDir}")
+    private String readLogDir;
+    @Value("${app.power.max-meters:64}")
+    private int maxMeters;
+    @Value("${app.power.archive.block-size:4096}")
+    private int blockSize;
+    @Value("${app.power.archive.retention-days:365}")
+    private int retentionDays;
+
+    private final Map<String, MeterLog> logs = new ConcurrentHashMap<>();
+    // 지우지 못한 파일 (Windows 에서는 매핑이 풀리기 전까지 지워지지 않는다). 다음 압축 주기에 다시 지운다
+    private final Queue<Path> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean meterLimitWarned = new AtomicBoolean();
+
+    // 미터 하나의 파일 목록 (압축본, 봉인된 세그먼트, 쓰고 있는 세그먼트 순). 마지막 것만 쓴다
+    // 목록에서 뺀 파일은 진행 중인 scan 이 없을 때 닫는다 (scans, retired 는 meterLog 로 동기화)
+    static class MeterLog {
+        final String meter;
+        final List<PowerFile> files = new CopyOnWriteArrayList<>();
+        final List<PowerFile> retired = new ArrayList<>();
+        int scans;
+
+        MeterLog(String meter) {
+            this.meter = meter;
+        }
+
+        PowerSegment active() {
+            PowerFile last = files.isEmpty() ? null : files.get(files.size() - 1);
+            return last instanceof PowerSegment segment ? segment : null;
+        }
+    }
+
+    // 웹 요청을 받기 전에 기존 세그먼트를 열고, (설정되어 있으면) power.log 를 가져온 뒤 메모리 저장소를 채운다
+    @PostConstruct
+    public void open() throws IOException {
+        Path root = Paths.get(dir);
+        Files.createDirectories(root);
+        try (DirectoryStream<Path> meters = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path meterDir : meters) {
+                String meter = meterDir.getFileName().toString();
+                if (PowerStore.isValidMeter(meter)) {
+                    logs.put(meter, load(meter, meterDir));
+                }
+            }
+        }
+        if (importOnStart) {
+            new PowerLogImporter(this).importDir(Paths.get(readLogDir), PowerStore.DEFAULT_METER);
+        }
+        for (MeterLog meterLog : logs.values()) {
+            replay(meterLog);
+        }
+    }
+
+    private MeterLog load(String meter, Path meterDir) throws IOException {
+        MeterLog meterLog = new MeterLog(meter);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(meterDir)) {
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);   // 압축 도중 종료된 흔적
+                } else if (name.endsWith(SUFFIX) || name.endsWith(ARCHIVE_SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.endsWith(ARCHIVE_SUFFIX)) {
+                    meterLog.files.add(PowerArchive.open(file));
+                } else if (files.contains(file.resolveSibling(baseName(name) + ARCHIVE_SUFFIX))) {
+                    Files.deleteIfExists(file);   // 압축은 끝났는데 원본을 지우기 전에 종료된 경우
+                } else {
+                    meterLog.files.add(PowerSegment.open(file));
+                }
+            } catch (IOException e) {
+                log.warn("Skip power segment {}: {}", file, e.getMessage());
+            }
+        }
+        return meterLog;
+    }
+
+    private static String baseName(String name) {
+        return name.substring(0, name.lastIndexOf('.'));
+    }
+
+    // 재시작 직후에도 차트와 집계가 비어 있지 않도록 세그먼트에서 다시 채운다
+    private void replay(MeterLog meterLog) {
+        long total = 0;
+        for (PowerFile file : meterLog.files) {
+            total += file.count();
+        }
+        long skip = total - storeCapacity;
+        long[] n = {0};
+        long[] lastTime = {0};
+        double[] lastValue = {0};
+        for (PowerFile file : meterLog.files) {
+            file.scan(Long.MIN_VALUE, Long.MAX_VALUE, (time, value) -> {
+                powerRollups.onSample(meterLog.meter, time, value);
+                if (n[0]++ >= skip) {
+                    powerStore.append(meterLog.meter, time, value);
+                }
+                lastTime[0] = time;
+                lastValue[0] = value;
+                return true;
+            });
+        }
+        if (total > 0) {
+            publisher.publish(new PowerSample(meterLog.meter, lastTime[0], lastValue[0]));
+            log.info("Power segments replayed: {} {} records", meterLog.meter, total);
+        }
+    }
+
+    @Override
+    public void onSample(String meter, long time, double value) {
+        try {
+            append(meter, time, value);
+        } catch (IOException e) {
+            log.warn("Power segment append failed: {} {}", meter, e.getMessage());
+        }
+    }
+
+    // 미터 이름은 수집 요청에서 오므로 max-meters 개까지만 파일을 만든다 (저장소와 같은 상한이라 보통은 저장소에서 먼저 걸러진다)
+    void append(String meter, long time, double value) throws IOException {
+        MeterLog meterLog = logs.get(meter);
+        if (meterLog == null) {
+            if (logs.size() >= maxMeters) {
+                if (meterLimitWarned.compareAndSet(false, true)) {
+                    log.warn("Power segment meter limit ({}) reached, not persisting {}", maxMeters, meter);
+                }
+                return;
+            }
+            meterLog = logs.computeIfAbsent(meter, MeterLog::new);
+        }
+        synchronized (meterLog) {
+            // 저장소(PowerStore)가 받은 것만 오므로 보통은 없지만, 파일은 시간순이어야 하므로 이른 시각은 버린다
+            PowerFile last = meterLog.files.isEmpty() ? null : meterLog.files.get(meterLog.files.size() - 1);
+            if (last != null && last.count() > 0 && time < last.lastTime()) {
+                return;
+            }
+            PowerSegment active = meterLog.active();
+            if (active == null || !active.append(time, value)) {
+                if (active != null) {
+                    active.seal();
+                }
+                Path meterDir = Paths.get(dir, meter);
+                Files.createDirectories(meterDir);
+                PowerSegment segment = PowerSegment.create(meterDir.resolve(String.format("%016d%s", time, SUFFIX)), records);
+                segment.append(time, value);
+                meterLog.files.add(segment);
+            }
+        }
+    }
+
+    // 미터의 가장 오래된 측정값 시각 (없으면 Long.MAX_VALUE). 가져오기(PowerLogImporter)는 이보다 앞선 것만 받는다
+    long firstTime(String meter) {
+        MeterLog meterLog = logs.get(meter);
+        if (meterLog != null) {
+            for (PowerFile file : meterLog.files) {
+                if (file.count() > 0) {
+                    return file.firstTime();
+                }
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    Backfill backfill(String meter) {
+        return new Backfill(meter);
+    }
+
+    // 기존 파일보다 앞선 측정값을 별도의 세그먼트(.seg.tmp)에 쓰고, commit 때 봉인해서 .seg 로 옮긴 뒤 목록 앞에 붙인다.
+    // 파일 이름이 첫 측정값 시각이므로 다음 기동 때도 기존 파일보다 앞에 놓인다. commit 하지 않고 닫으면 임시 파일을 지운다
+    class Backfill implements Closeable {
+        private final String meter;
+        private final List<PowerSegment> segments = new ArrayList<>();
+        private boolean committed;
+
+        private Backfill(String meter) {
+            this.meter = meter;
+        }
+
+        void append(long time, double value) throws IOException {
+            PowerSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && time < last.lastTime()) {
+                return;
+            }
+            if (last == null || !last.append(time, value)) {
+                Path meterDir = Paths.get(dir, meter);
+                Files.createDirectories(meterDir);
+                PowerSegment segment = PowerSegment.create(meterDir.resolve(String.format("%016d%s%s", time, SUFFIX, TEMP_SUFFIX)), records);
+                segments.add(segment);
+                segment.append(time, value);
+            }
+        }
+
+        void commit() throws IOException {
+            List<PowerFile> files = new ArrayList<>();
+            for (PowerSegment segment : segments) {
+                segment.seal();
+                segment.close();
+                Path temp = segment.getPath();
+                Path seg = temp.resolveSibling(baseName(temp.getFileName().toString()));
+                Files.move(temp, seg, StandardCopyOption.ATOMIC_MOVE);
+                files.add(PowerSegment.open(seg));
+            }
+            if (!files.isEmpty()) {
+                MeterLog meterLog = logs.computeIfAbsent(meter, MeterLog::new);
+                synchronized (meterLog) {
+                    meterLog.files.addAll(0, files);
+                }
+            }
+            committed = true;
+        }
+
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            for (PowerSegment segment : segments) {
+                discard(segment);
+            }
+        }
+    }
+
+    // [from, to] 구간을 시간 순으로 넘긴다. 파일 첫/마지막 시각이 겹치지 않는 파일은 건너뛰고,
+    // 세그먼트는 이진 탐색으로, 압축본은 블록 헤더로 범위를 찾는다. visitor 가 false 를 돌려주면 멈춘다
+    // 도는 동안 압축이나 보존 기간 정리로 목록에서 빠진 파일은 scan 이 끝난 뒤에 닫힌다
+    public void scan(String meter, long from, long to, PowerFile.Visitor visitor) {
+        MeterLog meterLog = logs.get(meter);
+        if (meterLog == null || from > to) {
+            return;
+        }
+        synchronized (meterLog) {
+            meterLog.scans++;
+        }
+        try {
+            for (PowerFile file : meterLog.files) {
+                if (file.count() == 0 || file.firstTime() > to || file.lastTime() < from) {
+                    continue;
+                }
+                if (!file.scan(from, to, visitor)) {
+                    return;
+                }
+            }
+        } finally {
+            List<PowerFile> closing = List.of();
+            synchronized (meterLog) {
+                if (--meterLog.scans == 0 && !meterLog.retired.isEmpty()) {
+                    closing = new ArrayList<>(meterLog.retired);
+                    meterLog.retired.clear();
+                }
+            }
+            closing.forEach(this::discard);
+        }
+    }
+
+    // [from, to] 구간의 앞에서부터 최대 limit 건. 잘렸는지 알 수 있도록 limit + 1 건까지 읽는다
+    public PowerPoints range(String meter, long from, long to, int limit) {
+        int max = Math.max(limit, 0) + 1;
+        long[][] times = {new long[Math.min(max, 1024)]};
+        double[][] values = {new double[Math.min(max, 1024)]};
+        int[] n = {0};
+        scan(meter, from, to, (time, value) -> {
+            if (n[0] == times[0].length) {
+                int size = (int) Math.min(max, n[0] * 2L);
+                times[0] = Arrays.copyOf(times[0], size);
+                values[0] = Arrays.copyOf(values[0], size);
+            }
+            times[0][n[0]] = time;
+            values[0][n[0]++] = value;
+            return n[0] < max;
+        });
+        return n[0] == 0 ? PowerPoints.EMPTY : new PowerPoints(times[0], values[0], n[0]);
+    }
+
+    // 파일이 있는 미터 (재시작 때 다시 읽은 미터 포함)
+    public Set<String> meters() {
+        return Collections.unmodifiableSet(logs.keySet());
+    }
+
+    public PowerSample last(String meter) {
+        MeterLog meterLog = logs.get(meter);
+        PowerSegment active = meterLog == null ? null : meterLog.active();
+        if (active == null || active.count() == 0) {
+            return null;
+        }
+        int i = active.count() - 1;
+        return new PowerSample(meter, active.time(i), active.value(i));
+    }
+
+    // 쓰고 있는 세그먼트를 주기적으로 디스크에 내린다 (프로세스가 죽어도 OS 캐시에는 남지만 전원 장애 대비)
+    @Scheduled(fixedDelayString = "${app.power.segment.force-ms:1000}")
+    public void force() {
+        for (MeterLog meterLog : logs.values()) {
+            PowerSegment active = meterLog.active();
+            if (active != null) {
+                active.force();
+            }
+        }
+    }
+
+    // 봉인된 세그먼트(마지막 것 제외)를 압축본으로 바꾸고 보존 기간이 지난 압축본을 지운다.
+    // 압축본은 임시 파일에 쓴 뒤 옮기므로 중간에 죽어도 반쯤 쓴 .gor 가 남지 않는다
+    @Scheduled(fixedDelayString = "${app.power.archive.compress-ms:60000}")
+    public void compress() {
+        retryDeletes();
+        long expire = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        for (MeterLog meterLog : logs.values()) {
+            for (PowerFile file : meterLog.files) {
+                if (file != meterLog.active() && file instanceof PowerSegment segment && segment.isSealed()) {
+                    archive(meterLog, segment);
+                }
+            }
+            for (PowerFile file : meterLog.files) {
+                if (file instanceof PowerArchive && file.lastTime() < expire) {
+                    retire(meterLog, file, null);
+                }
+            }
+        }
+    }
+
+    private void archive(MeterLog meterLog, PowerSegment segment) {
+        Path seg = segment.getPath();
+        String base = baseName(seg.getFileName().toString());
+        Path temp = seg.resolveSibling(base + ARCHIVE_SUFFIX + TEMP_SUFFIX);
+        Path gor = seg.resolveSibling(base + ARCHIVE_SUFFIX);
+        try {
+            PowerArchive.write(temp, segment, blockSize);
+            Files.move(temp, gor, StandardCopyOption.ATOMIC_MOVE);
+            PowerArchive archive = PowerArchive.open(gor);
+            log.info("Power segment archived: {} {} -> {} bytes", seg.getFileName(), Files.size(seg), Files.size(gor));
+            retire(meterLog, segment, archive);
+        } catch (IOException e) {
+            log.warn("Power segment archive failed: {} {}", seg, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // 목록에서 file 을 빼고 (replacement 가 있으면 그 자리에 넣고) 닫아서 지운다. scan 중이면 마지막 scan 이 끝날 때 지운다
+    private void retire(MeterLog meterLog, PowerFile file, PowerFile replacement) {
+        synchronized (meterLog) {
+            if (replacement == null) {
+                meterLog.files.remove(file);
+            } else {
+                meterLog.files.set(meterLog.files.indexOf(file), replacement);
+            }
+            if (meterLog.scans > 0) {
+                meterLog.retired.add(file);
+                return;
+            }
+        }
+        discard(file);
+    }
+
+    private void discard(PowerFile file) {
+        try {
+            file.close();
+            Files.deleteIfExists(file.getPath());
+        } catch (IOException e) {
+            pendingDeletes.add(file.getPath());
+        }
+    }
+
+    private void retryDeletes() {
+        for (int i = pendingDeletes.size(); i > 0; i--) {
+            Path path = pendingDeletes.poll();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                pendingDeletes.add(path);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (MeterLog meterLog : logs.values()) {
+            for (PowerFile file : meterLog.files) {
+                try {
+                    if (file instanceof PowerSegment segment) {
+                        segment.force();
+                    }
+                    file.close();
+                } catch (IOException e) {
+                    log.warn("Close power segment failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.office.power;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 미터 하나의 시계열. 고정 크기 long[]/double[] 링 버퍼에 저장하며
+// 가득 차면 가장 오래된 샘플부터 덮어쓴다.
+// 시간은 단조 증가로 유지되므로 (마지막 시각보다 이른 샘플은 받지 않는다) 구간 조회는 이진 탐색으로 처리한다.
+public class PowerSeries {
+    private final String meter;
+    private final long[] times;
+    private final double[] values;
+    private final int capacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 지금까지 append 된 전체 샘플 수 (덮어쓴 샘플 포함)
+    private long count;
+
+    public PowerSeries(String meter, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.meter = meter;
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public String getMeter() {
+        return meter;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 마지막 시각보다 이르면 버리고 false (시각을 고쳐서 넣으면 차트와 집계에 엉뚱한 시점으로 보인다)
+    public boolean append(long time, double value) {
+        lock.writeLock().lock();
+        try {
+            if (count > 0 && time < times[physical(filled() - 1)]) {
+                return false;
+            }
+            int idx = (int) (count % capacity);
+            times[idx] = time;
+            values[idx] = value;
+            count++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return filled();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return count() == 0;
+    }
+
+    public long lastTime() {
+        lock.readLock().lock();
+        try {
+            return count == 0 ? Long.MIN_VALUE : times[physical(filled() - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double lastValue() {
+        lock.readLock().lock();
+        try {
+            return count == 0 ? Double.NaN : values[physical(filled() - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 버퍼에 남아 있는 전체 샘플
+    public PowerPoints all() {
+        return range(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    // from <= time <= to 인 샘플을 시간순으로 복사해서 돌려준다
+    public PowerPoints range(long from, long to) {
+        lock.readLock().lock();
+        try {
+            int start = lowerBound(from);
+            int end = upperBound(to);
+            int n = end - start;
+            if (n <= 0) {
+                return PowerPoints.EMPTY;
+            }
+            long[] t = new long[n];
+            double[] v = new double[n];
+            int p = physical(start);
+            int first = Math.min(n, capacity - p);
+            System.arraycopy(times, p, t, 0, first);
+            System.arraycopy(values, p, v, 0, first);
+            if (first < n) {
+                System.arraycopy(times, 0, t, first, n - first);
+                System.arraycopy(values, 0, v, first, n - first);
+            }
+            return new PowerPoints(t, v, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int filled() {
+        return (int) Math.min(count, capacity);
+    }
+
+    // 논리 인덱스(0 = 가장 오래된 샘플) -> 배열 인덱스
+    private int physical(int logical) {
+        long oldest = count > capacity ? count - capacity : 0;
+        return (int) ((oldest + logical) % capacity);
+    }
+
+    // time >= from 인 첫 논리 인덱스
+    private int lowerBound(long from) {
+        int lo = 0;
+        int hi = filled();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[physical(mid)] < from) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // time > to 인 첫 논리 인덱스
+    private int upperBound(long to) {
+        int lo = 0;
+        int hi = filled();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[physical(mid)] <= to) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,68 @@
+package com.office.power;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+// IoT 전력 측정값을 미터별 링 버퍼에 보관하는 인메모리 저장소.
+// power.log 를 다시 읽지 않고 차트/최신값 조회를 처리한다.
+// 미터 이름은 인증 없는 수집 요청에서 오고 미터마다 capacity 크기 배열을 잡으므로 max-meters 개까지만 만든다.
+// 넘는 미터의 측정값은 append 가 받지 않으므로 리스너(세그먼트, 집계, 알림)에도 가지 않는다.
+@Component
+@Slf4j
+public class PowerStore {
+    public static final String DEFAULT_METER = "power";
+    private static final Pattern METER_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Map<String, PowerSeries> series = new ConcurrentHashMap<>();
+    private final AtomicBoolean meterLimitWarned = new AtomicBoolean();
+
+    @Value("${app.power.capacity:86400}")
+    private int capacity;
+    @Value("${app.power.max-meters:64}")
+    private int maxMeters;
+
+    // 미터 이름은 토픽 payload 와 파일 경로에도 쓰이므로 영문/숫자/_/- 만 허용한다
+    public static boolean isValidMeter(String meter) {
+        return meter != null && METER_NAME.matcher(meter).matches();
+    }
+
+    // 미터의 마지막 시각보다 이르거나 미터 수 상한을 넘는 새 미터면 false
+    public boolean append(String meter, long time, double value) {
+        PowerSeries s = series.get(meter);
+        if (s == null) {
+            if (series.size() >= maxMeters) {
+                if (meterLimitWarned.compareAndSet(false, true)) {
+                    log.warn("Power meter limit ({}) reached, rejecting {}", maxMeters, meter);
+                }
+                return false;
+            }
+            s = series.computeIfAbsent(meter, m -> new PowerSeries(m, capacity));
+        }
+        return s.append(time, value);
+    }
+
+    // 저장된 마지막 시각 (없으면 Long.MIN_VALUE). 이보다 이른 측정값은 append 가 받지 않는다.
+    // 미터 수 상한 때문에 받을 수 없는 새 미터면 Long.MAX_VALUE (어떤 시각도 받지 않는다)
+    public long lastTime(String meter) {
+        PowerSeries s = series.get(meter);
+        if (s == null) {
+            return series.size() >= maxMeters ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return s.lastTime();
+    }
+
+    public PowerSeries get(String meter) {
+        return series.get(meter);
+    }
+
+    public Collection<PowerSeries> all() {
+        return series.values();
+    }
+}
@@ -0,0 +1,130 @@
+package com.office.power;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 고정 해상도(resolution ms) 집계 링 버퍼. 버킷마다 min/max/sum/count 를 primitive 배열에 보관한다.
+// 마지막 버킷은 열린 상태로 샘플이 올 때마다 갱신된다.
+// 늦게 도착한 샘플은 자기 버킷이 링에 남아 있으면 그 버킷에 더하고, 없으면(밀려났거나 빈 구간) 버리고 dropped 로 센다.
+public class RollupTier {
+    private final long resolution;
+    private final int capacity;
+    private final long[] times;
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final int[] count;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 지금까지 열린 전체 버킷 수
+    private long buckets;
+    // 들어갈 버킷이 없어 버린 늦은 샘플 수
+    private long dropped;
+
+    public RollupTier(long resolution, int capacity) {
+        this.resolution = resolution;
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.min = new double[capacity];
+        this.max = new double[capacity];
+        this.sum = new double[capacity];
+        this.count = new int[capacity];
+    }
+
+    public long getResolution() {
+        return resolution;
+    }
+
+    public long getDropped() {
+        lock.readLock().lock();
+        try {
+            return dropped;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long time, double value) {
+        long bucket = Math.floorDiv(time, resolution) * resolution;
+        lock.writeLock().lock();
+        try {
+            int cur = buckets == 0 ? -1 : (int) ((buckets - 1) % capacity);
+            if (cur < 0 || bucket > times[cur]) {
+                cur = (int) (buckets % capacity);
+                buckets++;
+                times[cur] = bucket;
+                min[cur] = value;
+                max[cur] = value;
+                sum[cur] = value;
+                count[cur] = 1;
+                return;
+            }
+            if (bucket < times[cur]) {
+                int i = indexOf(bucket);
+                if (i == filled() || times[physical(i)] != bucket) {
+                    dropped++;
+                    return;
+                }
+                cur = physical(i);
+            }
+            min[cur] = Math.min(min[cur], value);
+            max[cur] = Math.max(max[cur], value);
+            sum[cur] += value;
+            count[cur]++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 가장 오래된 버킷 시작 시각. 비어 있으면 Long.MAX_VALUE
+    public long oldest() {
+        lock.readLock().lock();
+        try {
+            return buckets == 0 ? Long.MAX_VALUE : times[physical(0)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // [from, to] 에 걸친 버킷을 step 단위로 다시 묶어 out 에 더한다 (step 은 resolution 의 배수)
+    public void query(long from, long to, PowerBuckets out) {
+        long step = out.getStep();
+        lock.readLock().lock();
+        try {
+            int filled = filled();
+            for (int i = indexOf(Math.floorDiv(from, resolution) * resolution); i < filled; i++) {
+                int p = physical(i);
+                if (times[p] > to) {
+                    break;
+                }
+                out.add(Math.floorDiv(times[p], step) * step, min[p], max[p], sum[p], count[p]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 시작 시각이 bucket 이상인 첫 버킷의 논리 위치 (없으면 filled)
+    private int indexOf(long bucket) {
+        int lo = 0;
+        int hi = filled();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[physical(mid)] < bucket) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int filled() {
+        return (int) Math.min(buckets, capacity);
+    }
+
+    private int physical(int logical) {
+        long oldestBucket = buckets > capacity ? buckets - capacity : 0;
+        return (int) ((oldestBucket + logical) % capacity);
+    }
+}
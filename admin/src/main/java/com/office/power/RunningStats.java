@@ -0,0 +1,46 @@
+package com.office.power;
+
+// Welford 방식의 평균/표준편차. 건수가 window 에 닿으면 가중치를 반으로 줄여서
+// 오래된 값의 영향이 점점 줄어든다 (버퍼 없이 최근 window 건 정도를 보는 근사 이동 통계)
+public class RunningStats {
+    private final int window;
+    private double count;
+    private double mean;
+    private double m2;
+
+    public RunningStats(int window) {
+        this.window = Math.max(window, 2);
+    }
+
+    public void add(double x) {
+        if (Double.isNaN(x)) {
+            return;
+        }
+        if (count >= window) {
+            count /= 2;
+            m2 /= 2;
+        }
+        count++;
+        double d = x - mean;
+        mean += d / count;
+        m2 += d * (x - mean);
+    }
+
+    public long count() {
+        return (long) count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public double stddev() {
+        return count < 2 ? 0 : Math.sqrt(m2 / (count - 1));
+    }
+
+    // 평균에서 표준편차 몇 배만큼 떨어져 있는지. 분산이 0 이면 0
+    public double zscore(double x) {
+        double sd = stddev();
+        return sd == 0 ? 0 : (x - mean) / sd;
+    }
+}
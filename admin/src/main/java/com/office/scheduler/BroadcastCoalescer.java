@@ -0,0 +1,85 @@
+package com.office.scheduler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// STOMP 브로드캐스트를 토픽별로 모았다가 tick 마다 한 번씩 보낸다.
+//  - 같은 토픽/키로 tick 안에 여러 번 들어오면 마지막 값만 남는다 (conflation)
+//  - 키가 있는 토픽은 키별 최신값을 배열 하나로 묶어서 보낸다
+//  - payload 는 tick 당 한 번만 JSON byte[] 로 직렬화하고, 브로커는 같은 byte[] 를 모든 구독자에게 보낸다
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BroadcastCoalescer {
+    private static final String NO_KEY = "";
+
+    private final SimpMessageSendingOperations simpMessageSendingOperations;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> keyedTopics = new ConcurrentHashMap<>();
+
+    // 토픽 단위로 최신값 하나만 보낸다
+    public void publish(String topic, Object payload) {
+        pending.computeIfAbsent(topic, t -> new ConcurrentHashMap<>()).put(NO_KEY, payload);
+    }
+
+    // 토픽 안에서 key 별 최신값을 모아 배열로 보낸다
+    public void publish(String topic, String key, Object payload) {
+        keyedTopics.putIfAbsent(topic, Boolean.TRUE);
+        pending.computeIfAbsent(topic, t -> new ConcurrentHashMap<>()).put(key, payload);
+    }
+
+    @Scheduled(fixedDelayString = "${app.broadcast.tick-ms:200}")
+    public void flush() {
+        for (Map.Entry<String, Map<String, Object>> entry : pending.entrySet()) {
+            Map<String, Object> drained = drain(entry.getValue());
+            if (drained.isEmpty()) {
+                continue;
+            }
+            String topic = entry.getKey();
+            Object payload = keyedTopics.containsKey(topic)
+                    ? new ArrayList<>(drained.values())
+                    : drained.get(NO_KEY);
+            try {
+                simpMessageSendingOperations.send(topic, toMessage(payload));
+            } catch (JsonProcessingException e) {
+                log.warn("Cannot serialize broadcast for {}: {}", topic, e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Object> drain(Map<String, Object> values) {
+        Map<String, Object> drained = new LinkedHashMap<>();
+        for (String key : List.copyOf(values.keySet())) {
+            Object value = values.remove(key);
+            if (value != null) {
+                drained.put(key, value);
+            }
+        }
+        return drained;
+    }
+
+    private Message<byte[]> toMessage(Object payload) throws JsonProcessingException {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(objectMapper.writeValueAsBytes(payload), accessor.getMessageHeaders());
+    }
+}
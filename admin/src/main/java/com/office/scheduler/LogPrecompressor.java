@@ -0,0 +1,65 @@
+package com.office.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPOutputStream;
+
+// /logs/** 로 내보내는 로그 파일 옆에 .gz 를 미리 만들어 둔다 (EncodedResourceResolver 가 골라서 보낸다).
+// 아직 쓰고 있는 파일은 압축본이 금방 낡으므로, 일정 시간 바뀌지 않은 파일만 압축하고 낡은 .gz 는 지운다.
+@Component
+@Slf4j
+public class LogPrecompressor {
+
+    @Value("${app.dir.readLogDir}")
+    private String readLogDir;
+    @Value("${app.logs.precompress-quiet-ms:60000}")
+    private long quietMs;
+
+    @Scheduled(fixedDelayString = "${app.logs.precompress-ms:60000}")
+    public void precompress() {
+        Path dir = Paths.get(readLogDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.{log,json,csv}")) {
+            for (Path file : files) {
+                Path gz = file.resolveSibling(file.getFileName() + ".gz");
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                boolean fresh = Files.exists(gz) && Files.getLastModifiedTime(gz).toMillis() >= modified;
+                if (fresh) {
+                    continue;
+                }
+                if (now - modified < quietMs) {
+                    Files.deleteIfExists(gz);
+                } else {
+                    gzip(file, gz);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Log precompress failed: {}", e.getMessage());
+        }
+    }
+
+    private void gzip(Path file, Path gz) throws IOException {
+        Path tmp = Files.createTempFile(gz.getParent(), "gz-", ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                Files.copy(file, out);
+            }
+            Files.move(tmp, gz, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
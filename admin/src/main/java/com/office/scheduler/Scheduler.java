@@ -3,23 +3,21 @@ package com.office.scheduler;
 import com.office.app.dto.AdminMsg;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class Scheduler {
 
-    private final SimpMessageSendingOperations simpMessageSendingOperations;
+    private final BroadcastCoalescer broadcastCoalescer;
 
     @Scheduled(cron = "*/3 * * * * *")
     public void cronJobDailyUpdate() {
-        log.info("====================================================");
-        Random r = new Random();
+        ThreadLocalRandom r = ThreadLocalRandom.current();
         int content1 = r.nextInt(100)+1;
         int content2 = r.nextInt(1000)+1;
         int content3 = r.nextInt(500)+1;
@@ -29,10 +27,10 @@ public class Scheduler {
         adminMsg.setContent2(content2);
         adminMsg.setContent3(content3);
         adminMsg.setContent4(content4);
-        simpMessageSendingOperations.convertAndSend("/send2",adminMsg);
+        broadcastCoalescer.publish("/send2",adminMsg);
     }
 
 
 
 
-}
\ No newline at end of file
+}
@@ -2,32 +2,127 @@ package com.office.util;
 
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 public class FileUploadUtil {
+    // transferFrom 한 번에 넘기는 최대 크기. 업로드 크기와 상관없이 메모리는 이 정도만 쓴다
+    private static final long CHUNK = 1024 * 1024;
+    private static final Pattern HASHED_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,5})?");
+
     public  static void deleteFile(String filename, String dir) throws IOException {
         Path filePath = Paths.get(dir+filename);
         Files.delete(filePath);
     }
-    public  static void saveFile(MultipartFile mf, String dir) throws IOException {
-        byte [] data;
-        String imgname = mf.getOriginalFilename();
-        System.out.println("----------------"+imgname);
+
+    // 업로드를 스트림으로 임시 파일에 받은 뒤 dir+원본파일명 으로 옮긴다. 반환값은 내용의 SHA-256 (hex)
+    // 원본 파일명이 없으면 IllegalArgumentException
+    public  static String saveFile(MultipartFile mf, String dir) throws IOException {
+        return saveFile(mf, dir, baseName(mf.getOriginalFilename()));
+    }
+
+    public  static String saveFile(MultipartFile mf, String dir, String filename) throws IOException {
+        Path tmp = Files.createTempFile(Paths.get(dir), "upload-", ".tmp");
+        try {
+            String hash = write(mf, tmp);
+            move(tmp, Paths.get(dir, filename));
+            return hash;
+        } finally {
+            Files.deleteIfExists(tmp);   // 옮겼으면 이미 없다
+        }
+    }
+
+    // 내용 주소 방식 저장. 파일명은 SHA-256 + 원본 확장자이고, 같은 내용이 이미 있으면 새로 쓰지 않는다.
+    // 한 번 저장된 파일은 바뀌지 않으므로 /imgs/** 를 immutable 로 캐시할 수 있다. 반환값은 저장된 파일명
+    public  static String saveHashed(MultipartFile mf, String dir) throws IOException {
+        Path tmp = Files.createTempFile(Paths.get(dir), "upload-", ".tmp");
+        try {
+            String filename = write(mf, tmp) + extension(mf.getOriginalFilename());
+            Path target = Paths.get(dir, filename);
+            if (!Files.exists(target)) {
+                move(tmp, target);
+            }
+            return filename;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // saveHashed 가 만든 이름인지 (<sha256 hex>.<확장자>). 경로 문자가 들어갈 수 없다
+    public  static boolean isHashedName(String filename) {
+        return filename != null && HASHED_NAME.matcher(filename).matches();
+    }
+
+    // 참조하는 곳이 없어진 파일 삭제. 이미 없으면 무시한다. saveHashed 로 만든 이름만 지운다
+    public  static void deleteIfExists(String filename, String dir) throws IOException {
+        if (!isHashedName(filename)) {
+            throw new IllegalArgumentException("Not a hashed file name: " + filename);
+        }
+        Files.deleteIfExists(Paths.get(dir, filename));
+    }
+
+    private static String write(MultipartFile mf, Path tmp) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (InputStream in = new DigestInputStream(mf.getInputStream(), sha256);
+             ReadableByteChannel src = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long n;
+            while ((n = out.transferFrom(src, position, CHUNK)) > 0) {
+                position += n;
+            }
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    // 브라우저가 보낸 경로(C:\a\b.jpg, ../b.jpg)에서 파일명만
+    private static String baseName(String filename) {
+        String name = filename == null ? "" : filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1).trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            throw new IllegalArgumentException("Missing upload file name: " + filename);
+        }
+        return name;
+    }
+
+    // ".jpg" 처럼 소문자 확장자. 이상한 값은 버린다
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        String ext = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,5}") ? "." + ext : "";
+    }
+
+    // 같은 디렉토리 안에서의 이동이라 보통 원자적으로 교체된다. 읽는 쪽은 반쯤 쓰인 파일을 보지 않는다
+    private static void move(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
         try {
-            data = mf.getBytes();
-            FileOutputStream fo =
-                    new FileOutputStream(dir+imgname);
-            fo.write(data);
-            fo.close();
-            System.out.println("----------------OK");
-
-        }catch(Exception e) {
-            e.printStackTrace();
-            throw e;
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
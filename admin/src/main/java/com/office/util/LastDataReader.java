@@ -0,0 +1,54 @@
+package com.office.util;
+
+import com.office.power.PowerSample;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// power.log 의 마지막 줄을 PowerSample 로 변환한다.
+// 이 프로세스가 아직 측정값을 받지 못했을 때(/getLastData 재시작 직후 등)만 사용한다.
+@Slf4j
+public class LastDataReader {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Map<String, LogTailReader> READERS = new ConcurrentHashMap<>();
+
+    public static PowerSample lastData(String logFile, String meter) {
+        String lastLine;
+        try {
+            lastLine = READERS.computeIfAbsent(logFile, f -> new LogTailReader(Paths.get(f))).lastLine();
+        } catch (IOException e) {
+            log.warn("Cannot read {}: {}", logFile, e.getMessage());
+            return null;
+        }
+        if (lastLine == null) {
+            return null;
+        }
+
+        String[] parts = lastLine.split(",");
+        if (parts.length != 2) {
+            log.warn("Invalid line format: {}", lastLine);
+            return null;
+        }
+        try {
+            // 날짜와 시간 파싱
+            LocalDateTime dateTime = LocalDateTime.parse(parts[0], TIME_FORMAT);
+
+            // LocalDateTime을 밀리초 단위의 타임스탬프로 변환
+            long timestamp = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+            // 값 파싱
+            double value = Double.parseDouble(parts[1].trim());
+            return new PowerSample(meter, timestamp, value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.warn("Invalid line format: {}", lastLine);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.office.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+// 로그 파일의 마지막 줄만 읽는 리더.
+// EOF 에서 거꾸로 개행을 찾고, 읽은 위치와 파일 식별자(inode)를 기억해서
+// 다음 호출에는 새로 추가된 부분만 확인한다.
+// logback 이 파일을 굴리면(rename 후 새 파일 생성) 식별자나 크기가 바뀌므로 처음부터 다시 읽는다.
+public class LogTailReader {
+    private static final int CHUNK = 4096;
+
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+
+    private Object fileId;
+    private long position;
+    private String lastLine;
+
+    public LogTailReader(Path path) {
+        this.path = path;
+    }
+
+    public synchronized String lastLine() throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // 롤오버 중에는 잠깐 파일이 없을 수 있다
+            fileId = null;
+            position = 0;
+            return lastLine;
+        }
+        Object id = attrs.fileKey() != null ? attrs.fileKey() : attrs.creationTime();
+        long size = attrs.size();
+        if (!Objects.equals(id, fileId) || size < position) {
+            fileId = id;
+            position = 0;
+        }
+        if (size == position) {
+            return lastLine;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readLastLine(channel, channel.size());
+        }
+        return lastLine;
+    }
+
+    // [position, end) 구간에서 완결된 마지막 줄을 찾는다
+    private void readLastLine(FileChannel channel, long end) throws IOException {
+        long lineEnd = findBack(channel, end, position);
+        if (lineEnd < 0) {
+            // 아직 개행으로 끝나는 줄이 없음 (쓰는 중인 줄)
+            return;
+        }
+        long lineStart = findBack(channel, lineEnd, position) + 1;
+        if (lineStart == 0) {
+            lineStart = position;
+        }
+        int length = (int) (lineEnd - lineStart);
+        ByteBuffer line = ByteBuffer.allocate(length);
+        while (line.hasRemaining()) {
+            if (channel.read(line, lineStart + line.position()) < 0) {
+                break;
+            }
+        }
+        String text = new String(line.array(), 0, line.position(), StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        if (!text.isBlank()) {
+            lastLine = text;
+        }
+        position = lineEnd + 1;
+    }
+
+    // end 이전에서 floor 까지 거꾸로 읽으며 '\n' 의 위치를 찾는다. 없으면 -1
+    private long findBack(FileChannel channel, long end, long floor) throws IOException {
+        long pos = end;
+        while (pos > floor) {
+            int len = (int) Math.min(CHUNK, pos - floor);
+            pos -= len;
+            buffer.clear().limit(len);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, pos + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -31,27 +31,103 @@
                     $('#progress4').css('width', JSON.parse(msg.body).content4 / 10 * 100 + '%');
                     $('#progress4').attr('aria-valuenow', JSON.parse(msg.body).content4 / 10 * 100);
                 });
+                // 새 전력 측정값 (폴링 대신 서버가 미터별 최신값을 배열로 묶어 보내준다)
+                this.subscribe('/broadcast/power', function (msg) {
+                    JSON.parse(msg.body).forEach((p) => center.onPower(p));
+                });
+                // 전력 알림 (상태가 바뀔 때만 온다)
+                this.subscribe('/send2/alerts', function (msg) {
+                    JSON.parse(msg.body).forEach((a) => center.onAlert(a));
+                });
             });
         }
     };
     let center = {
+        chart: null,
+        liveSeries: null,
+        last: null,
+        pending: null,
         init: function () {
+            // 전체를 한 번 읽고 (서버가 몇 초 동안 같은 응답을 돌려주므로) since 로 그 뒤를 채운 다음,
+            // 이후에는 /broadcast/power 구독으로 갱신한다
             this.getdata();
             this.display2();
-            setInterval(() => {
-                this.getdata();
-            }, 5000);
+        },
+        onAlert: function (a) {
+            let id = 'alert_' + a.meter + '_' + a.rule;
+            $('#' + id).remove();
+            if (a.state === 'FIRING') {
+                $('<div class="alert alert-danger py-1 mb-1"></div>').attr('id', id)
+                    .text(this.format(a.time) + ' [' + a.meter + '] ' + a.rule + ' ' + a.message)
+                    .appendTo('#power_alerts');
+            }
+        },
+        onPower: function (p) {
+            if (p.m !== 'power') {
+                return;
+            }
+            if (this.pending != null) {
+                // /getChart 응답을 기다리는 중. 응답을 반영한 뒤 다시 넣는다 (last 이전 것은 아래에서 걸러진다)
+                this.pending.push(p);
+                return;
+            }
+            if (this.liveSeries != null) {
+                this.liveSeries.addPoint([p.t, p.v], true, true);
+            }
+            if (this.chart == null || this.last == null || p.t <= this.last) {
+                return;
+            }
+            this.chart.xAxis[0].setCategories(this.chart.xAxis[0].categories.concat([this.format(p.t)]), false);
+            this.chart.series[0].addPoint(p.v, true);
+            this.last = p.t;
+        },
+        format: function (t) {
+            let d = new Date(t);
+            let pad = (n) => (n < 10 ? '0' : '') + n;
+            return d.getFullYear() + '-' + pad(d.getMonth() + 1) + '-' + pad(d.getDate()) + ' '
+                + pad(d.getHours()) + ':' + pad(d.getMinutes()) + ':' + pad(d.getSeconds());
         },
         getdata: function () {
+            // 처음에는 전체(최대 1000개로 다운샘플링), 이후에는 마지막 시각 이후의 점들만 받는다
+            let full = this.last == null;
+            let param = full ? {maxPoints: 1000} : {since: this.last};
+            if (this.pending == null) {
+                this.pending = [];
+            }
             $.ajax({
                 url: '/getChart',
-                success: (datas) => {
-                    this.display1(datas);
+                data: param,
+                ifModified: true,
+                success: (datas, status) => {
+                    if (status === 'notmodified' || !datas) {
+                        return;
+                    }
+                    if (full) {
+                        this.display1(datas);
+                        this.last = datas.last;
+                        return;
+                    }
+                    let series = this.chart.series[0];
+                    let categories = this.chart.xAxis[0].categories.concat(datas.x);
+                    this.chart.xAxis[0].setCategories(categories, false);
+                    datas.result[0].data.forEach((v) => series.addPoint(v, false));
+                    this.chart.redraw();
+                    this.last = datas.last;
+                },
+                complete: () => {
+                    if (full && this.last != null) {
+                        // 전체 응답은 몇 초 전에 만든 것일 수 있으므로 그 뒤를 since 로 채운다 (pending 은 이어진다)
+                        this.getdata();
+                        return;
+                    }
+                    let pending = this.pending;
+                    this.pending = null;
+                    pending.forEach((p) => this.onPower(p));
                 }
             });
         },
         display1: function (datas) {
-            Highcharts.chart('chart1_container', {
+            this.chart = Highcharts.chart('chart1_container', {
                 chart: {
                     type: 'line'
                 },
@@ -84,26 +160,7 @@
         },
         display2: function () {
             const onChartLoad = function () {
-                const chart = this,
-                    series = chart.series[0];
-
-                setInterval(async function () {
-                    try {
-                        $.ajax({
-                            url: '/getLastData',
-                            type: 'GET',
-                            dataType: 'json',
-                            success: (response) => {
-                                x = response.timestamp;
-                                y = response.value;
-                                series.addPoint([x, y], true, true);
-                            }
-                        });
-                    } catch (error) {
-                        console.log(error);
-                    }
-                }, 1000);
-                console.log(chart.series);
+                center.liveSeries = this.series[0];
             };
 
             const data = (function () {
@@ -234,6 +291,7 @@
         <a href="#" class="d-none d-sm-inline-block btn btn-sm btn-primary shadow-sm"><i
                 class="fas fa-download fa-sm text-white-50"></i> Generate Report</a>
     </div>
+    <div id="power_alerts" class="mb-2"></div>
 
     <!-- Content Row -->
     <div class="row">
@@ -72,6 +72,26 @@
                     </tbody>
                 </table>
             </div>
+            <div class="d-flex justify-content-between align-items-center">
+                <span>Total : ${page.total}</span>
+                <div>
+                    <c:url var="firstUrl" value="/cust/get">
+                        <c:param name="size" value="${page.size}"/>
+                        <c:param name="keyword" value="${search.keyword}"/>
+                        <c:param name="search" value="${search.search}"/>
+                    </c:url>
+                    <a class="btn btn-secondary" href="${firstUrl}">First</a>
+                    <c:if test="${page.nextCursor != null}">
+                        <c:url var="nextUrl" value="/cust/get">
+                            <c:param name="cursor" value="${page.nextCursor}"/>
+                            <c:param name="size" value="${page.size}"/>
+                            <c:param name="keyword" value="${search.keyword}"/>
+                            <c:param name="search" value="${search.search}"/>
+                        </c:url>
+                        <a class="btn btn-primary" href="${nextUrl}">Next</a>
+                    </c:if>
+                </div>
+            </div>
         </div>
     </div>
 
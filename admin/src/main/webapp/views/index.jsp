@@ -32,8 +32,8 @@
     <script src="<c:url value="/vendor/bootstrap/js/bootstrap.bundle.min.js"/>"></script>
 
     <%-- Web Socket Lib    --%>
-    <script src="/webjars/sockjs-client/sockjs.min.js"></script>
-    <script src="/webjars/stomp-websocket/stomp.min.js"></script>
+    <script src="<c:url value="/webjars/sockjs-client/sockjs.min.js"/>"></script>
+    <script src="<c:url value="/webjars/stomp-websocket/stomp.min.js"/>"></script>
 
     <!-- Core plugin JavaScript-->
     <script src="<c:url value="/vendor/jquery-easing/jquery.easing.min.js"/>"></script>
@@ -80,7 +80,7 @@
                         </h6>
                     </div>
                     <div class="form-group">
-                       <img  src="<c:url value="/imgs"/>/${item.imgName}">
+                       <img  src="<c:url value="/imgs/medium"/>/${item.imgName}">
                        <input type="hidden"  name="imgName" value="${item.imgName}"/>
                     </div>
                     <div class="form-group">
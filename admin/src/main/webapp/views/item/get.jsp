@@ -48,7 +48,7 @@
                         <tr>
                             <td>
                                 <a href="<c:url value="/item/detail"/>?id=${item.itemId}">
-                                    <img  src="<c:url value="/imgs"/>/${item.imgName}">
+                                    <img  src="<c:url value="/imgs/thumb"/>/${item.imgName}" loading="lazy">
                                 </a>
                             </td>
                             <td>${item.itemId}</td>
@@ -0,0 +1,43 @@
+package com.office.admin;
+
+import com.office.config.AdminPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class AdminPasswordEncoderTest {
+
+    @Test
+    void legacyPlaintext() {
+        AdminPasswordEncoder encoder = new AdminPasswordEncoder(4);
+        // 예전 평문 비밀번호도 로그인은 되고, BCrypt 로 다시 저장 대상이 된다
+        assertTrue(encoder.matches("111111", "111111"));
+        assertFalse(encoder.matches("111112", "111111"));
+        assertTrue(encoder.upgradeEncoding("111111"));
+
+        String hash = encoder.encode("111111");
+        assertTrue(encoder.matches("111111", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        // cost 를 올리면 기존 해시도 다시 저장한다
+        assertTrue(new AdminPasswordEncoder(5).upgradeEncoding(hash));
+    }
+
+    // app.security.bcrypt-strength 를 정할 때 참고할 cost 별 확인 시간
+    @Test
+    void bcryptCost() {
+        for (int strength = 8; strength <= 12; strength++) {
+            AdminPasswordEncoder encoder = new AdminPasswordEncoder(strength);
+            String hash = encoder.encode("111111");
+            int n = 5;
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                assertTrue(encoder.matches("111111", hash));
+            }
+            log.info("bcrypt strength {}: {} ms/check", strength, (System.nanoTime() - start) / n / 1_000_000.0);
+        }
+    }
+
+}
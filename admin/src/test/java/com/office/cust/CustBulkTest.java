@@ -0,0 +1,76 @@
+package com.office.cust;
+
+import com.office.app.dto.CustDto;
+import com.office.app.service.CustService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 한 건씩 처리하는 경로와 addAll/modifyAll/deleteAll 의 소요 시간 비교. 단계마다 bulk 로 시작하는 행 수를 확인한다
+@SpringBootTest
+@Slf4j
+class CustBulkTest {
+    private static final int COUNT = 1000;
+
+    @Autowired
+    CustService custService;
+
+    @Test
+    void compareRowByRowWithBulk() throws Exception {
+        List<CustDto> custs = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            String id = String.format("bulk%04d", i);
+            custs.add(CustDto.builder().custId(id).custPwd("pwd" + i).custName("대량" + i).build());
+            ids.add(id);
+        }
+
+        long start = System.nanoTime();
+        for (CustDto cust : custs) {
+            custService.add(cust);
+        }
+        long rowInsert = System.nanoTime() - start;
+        assertEquals(COUNT, bulkRows().size());
+
+        start = System.nanoTime();
+        for (String id : ids) {
+            custService.delete(id);
+        }
+        long rowDelete = System.nanoTime() - start;
+        assertEquals(0, bulkRows().size());
+
+        start = System.nanoTime();
+        custService.addAll(custs);
+        long bulkInsert = System.nanoTime() - start;
+        assertEquals(COUNT, bulkRows().size());
+
+        custs.forEach(c -> c.setCustName(c.getCustName() + "수정"));
+        start = System.nanoTime();
+        custService.modifyAll(custs);
+        long bulkUpdate = System.nanoTime() - start;
+        List<CustDto> updated = bulkRows();
+        assertEquals(COUNT, updated.size());
+        assertTrue(updated.stream().allMatch(c -> c.getCustName().endsWith("수정")));
+
+        start = System.nanoTime();
+        custService.deleteAll(ids);
+        long bulkDelete = System.nanoTime() - start;
+        assertEquals(0, bulkRows().size());
+
+        log.info("{} rows insert: row-by-row {} ms, bulk {} ms", COUNT, rowInsert / 1_000_000, bulkInsert / 1_000_000);
+        log.info("{} rows delete: row-by-row {} ms, bulk {} ms", COUNT, rowDelete / 1_000_000, bulkDelete / 1_000_000);
+        log.info("{} rows update: bulk {} ms", COUNT, bulkUpdate / 1_000_000);
+    }
+
+    private List<CustDto> bulkRows() throws Exception {
+        return custService.get().stream().filter(c -> c.getCustId().startsWith("bulk")).toList();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.office.cust;
+
+import com.office.app.dto.CustDto;
+import com.office.app.service.CustService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Slf4j
+class CustFindTest {
+    @Autowired
+    CustService custService;
+
+    @Test
+    void contextLoads() throws Exception {
+        List<CustDto> custs = custService.findByName("김");
+        log.info("{}", custs);
+        // 인덱스를 쓰든 DB LIKE 를 쓰든 결과는 이름에 검색어가 포함된 고객만
+        custs.forEach(c -> assertTrue(c.getCustName().contains("김")));
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.office.cust;
+
+import com.office.app.dto.CustPage;
+import com.office.app.service.CustService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Slf4j
+class CustPageTest {
+    @Autowired
+    CustService custService;
+
+    @Test
+    void contextLoads() throws Exception {
+        CustPage first = custService.getPage(null, 2, true);
+        log.info("{}", first);
+        if (first.getNextCursor() != null) {
+            CustPage second = custService.getPage(first.getNextCursor(), 2, false);
+            log.info("{}", second);
+            // 다음 페이지는 이전 페이지의 마지막 id 보다 뒤에서 시작한다
+            String last = first.getCusts().get(first.getCusts().size() - 1).getCustId();
+            assertTrue(second.getCusts().get(0).getCustId().compareTo(last) > 0);
+        }
+    }
+
+}
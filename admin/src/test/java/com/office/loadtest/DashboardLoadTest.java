@@ -0,0 +1,149 @@
+package com.office.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// center.jsp 대시보드 users 개를 흉내낸다.
+//  - 화면을 열 때 /getChart?maxPoints=1000 한 번
+//  - 이후에는 STOMP(/wss) 로 /broadcast/power, /send2 를 구독해서 받기만 한다
+// 측정값은 이 프로그램이 rate 건/초로 /iotPower 에 넣고, 받은 /broadcast/power 의 t 로 전달 지연을 잰다
+// (서버와 같은 장비에서 돌려야 시계가 맞는다).
+//   ./gradlew loadTest -Pargs="http://localhost:81 200 30 1"
+//   (URL, 동시 사용자 수, 초, 초당 측정값 수)
+public class DashboardLoadTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:81";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int rate = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        HttpRequest chart = HttpRequest.newBuilder(URI.create(baseUrl + "/getChart?maxPoints=1000")).build();
+        URI ws = URI.create(baseUrl.replaceFirst("^http", "ws") + "/wss/websocket");
+
+        AtomicLong errors = new AtomicLong();
+        AtomicLong messages = new AtomicLong();
+        ConcurrentLinkedQueue<Long> chartLatencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> deliveryLatencies = new ConcurrentLinkedQueue<>();
+
+        // 화면 열기: 차트 한 번 + STOMP 연결/구독
+        List<CompletableFuture<WebSocket>> sessions = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            long start = System.nanoTime();
+            CompletableFuture<WebSocket> session = client.sendAsync(chart, HttpResponse.BodyHandlers.discarding())
+                    .thenCompose(response -> {
+                        chartLatencies.add(System.nanoTime() - start);
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        return client.newWebSocketBuilder()
+                                .buildAsync(ws, new StompListener(messages, deliveryLatencies));
+                    })
+                    .thenCompose(socket -> socket.sendText("CONNECT\naccept-version:1.2\nheart-beat:0,0\n\n\0", true))
+                    .thenCompose(socket -> socket.sendText("SUBSCRIBE\nid:sub-0\ndestination:/broadcast/power\n\n\0", true))
+                    .thenCompose(socket -> socket.sendText("SUBSCRIBE\nid:sub-1\ndestination:/send2\n\n\0", true));
+            sessions.add(session.whenComplete((s, e) -> {
+                if (e != null) {
+                    errors.incrementAndGet();
+                }
+            }));
+        }
+
+        // 측정값 공급
+        ScheduledExecutorService feeder = Executors.newSingleThreadScheduledExecutor();
+        feeder.scheduleAtFixedRate(() -> {
+            HttpRequest sample = HttpRequest.newBuilder(URI.create(baseUrl + "/iotPower"))
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format("%.2f", 200 + Math.random() * 50))).build();
+            client.sendAsync(sample, HttpResponse.BodyHandlers.discarding());
+        }, 0, Math.max(1, 1_000_000 / Math.max(rate, 1)), TimeUnit.MICROSECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        feeder.shutdownNow();
+        long connected = sessions.stream().filter(s -> s.isDone() && !s.isCompletedExceptionally()).count();
+        for (CompletableFuture<WebSocket> session : sessions) {
+            session.thenAccept(s -> s.abort());
+        }
+
+        System.out.printf("users=%d duration=%ds rate=%d/s connected=%d errors=%d%n",
+                users, seconds, rate, connected, errors.get());
+        System.out.printf("messages=%d (%.1f/s per user)%n", messages.get(), messages.get() / (double) seconds / Math.max(connected, 1));
+        print("getChart", chartLatencies);
+        print("delivery", deliveryLatencies);
+        System.exit(0);
+    }
+
+    private static void print(String name, ConcurrentLinkedQueue<Long> latencies) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        if (sorted.length > 0) {
+            System.out.printf("%s n=%d p50=%.2fms p99=%.2fms max=%.2fms%n", name, sorted.length,
+                    sorted[sorted.length / 2] / 1e6,
+                    sorted[(int) (sorted.length * 0.99)] / 1e6,
+                    sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    // STOMP 프레임을 모아서 MESSAGE 만 센다. /broadcast/power 는 [{"m","t","v"}] 의 t 로 지연을 잰다
+    static class StompListener implements WebSocket.Listener {
+        private final AtomicLong messages;
+        private final ConcurrentLinkedQueue<Long> latencies;
+        private final StringBuilder frame = new StringBuilder();
+
+        StompListener(AtomicLong messages, ConcurrentLinkedQueue<Long> latencies) {
+            this.messages = messages;
+            this.latencies = latencies;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                onFrame(frame.toString());
+                frame.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void onFrame(String text) {
+            if (!text.startsWith("MESSAGE")) {
+                return;
+            }
+            messages.incrementAndGet();
+            if (!text.contains("destination:/broadcast/power")) {
+                return;
+            }
+            int body = text.indexOf("\n\n");
+            try {
+                JsonNode points = MAPPER.readTree(text.substring(body + 2).replace("\0", ""));
+                long now = System.currentTimeMillis();
+                for (JsonNode p : points) {
+                    latencies.add(TimeUnit.MILLISECONDS.toNanos(now - p.get("t").asLong()));
+                }
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
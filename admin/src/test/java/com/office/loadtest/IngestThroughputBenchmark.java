@@ -0,0 +1,138 @@
+package com.office.loadtest;
+
+import com.office.power.PowerBatch;
+import com.office.power.PowerBulkParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 기존 /iotPower (요청 하나에 측정값 하나) 와 /iotPower/bulk (json, ndjson, binary) 의 초당 수집 건수를 비교한다.
+// 서버 코어 수로 나눈 값(readings/s/core)도 같이 출력한다. 서버를 같은 장비에서 띄웠다면 cores 는 생략해도 된다.
+// 마지막으로 서버 없이 PowerBulkParser 만 한 스레드로 돌린 파싱 속도를 출력한다.
+// 같은 본문을 반복해서 보내므로 시각은 생략(수신 시각)한다. 시각을 넣으면 두 번째 요청부터는 이미 지난 시각이라 rejected 된다.
+//   ./gradlew ingestBenchmark -Pargs="http://localhost:81 16 20 1000 8"
+//   (URL, 동시 요청 수, 형식별 초, bulk 요청당 건수, 서버 코어 수)
+public class IngestThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:81";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int batch = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int cores = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+
+        HttpRequest single = HttpRequest.newBuilder(URI.create(baseUrl + "/iotPower?meter=bench"))
+                .POST(HttpRequest.BodyPublishers.ofString("123.45")).build();
+        byte[] json = json(batch);
+        byte[] ndjson = ndjson(batch);
+        byte[] binary = binary(batch);
+
+        run("single", client, single, 1, threads, seconds, cores);
+        run("json", client, bulk(baseUrl, "application/json", json), batch, threads, seconds, cores);
+        run("ndjson", client, bulk(baseUrl, "application/x-ndjson", ndjson), batch, threads, seconds, cores);
+        run("binary", client, bulk(baseUrl, "application/octet-stream", binary), batch, threads, seconds, cores);
+
+        parseOnly("json", json, batch, false);
+        parseOnly("binary", binary, batch, true);
+        System.exit(0);
+    }
+
+    private static HttpRequest bulk(String baseUrl, String contentType, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/iotPower/bulk?meter=bench"))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+
+    private static void run(String name, HttpClient client, HttpRequest request, int perRequest,
+                            int threads, int seconds, int cores) throws InterruptedException {
+        AtomicLong readings = new AtomicLong();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        } else {
+                            readings.addAndGet(perRequest);
+                        }
+                        requests.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        double rate = readings.get() / (double) seconds;
+        System.out.printf("%-7s requests=%d errors=%d readings/s=%.0f readings/s/core=%.0f%n",
+                name, requests.get(), errors.get(), rate, rate / cores);
+    }
+
+    private static void parseOnly(String name, byte[] body, int batch, boolean binary) throws Exception {
+        PowerBatch out = new PowerBatch(4096);
+        long[] count = new long[1];
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            PowerBulkParser parser = new PowerBulkParser(new ByteArrayInputStream(body), "bench", 1L,
+                    Long.MAX_VALUE, Long.MAX_VALUE, meter -> Long.MIN_VALUE, out, b -> count[0] += b.getSize());
+            if (binary) {
+                parser.binary();
+            } else {
+                parser.json();
+            }
+        }
+        double rate = count[0] / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("parse %-6s readings/s (1 thread)=%.0f%n", name, rate);
+    }
+
+    private static byte[] json(int n) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"v\":").append(100 + i % 50 * 0.37).append('}');
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ndjson(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append("{\"v\":").append(100 + i % 50 * 0.37).append("}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] binary(int n) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < n; i++) {
+            out.writeByte(0);
+            out.writeLong(0);
+            out.writeDouble(100 + i % 50 * 0.37);
+        }
+        return bytes.toByteArray();
+    }
+}
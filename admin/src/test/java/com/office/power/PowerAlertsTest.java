@@ -0,0 +1,155 @@
+package com.office.power;
+
+import com.office.scheduler.BroadcastCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PowerAlertsTest {
+    private final List<PowerAlert> sent = new ArrayList<>();
+    private PowerAlerts alerts;
+
+    @BeforeEach
+    void setUp() {
+        BroadcastCoalescer coalescer = new BroadcastCoalescer(null, null) {
+            @Override
+            public void publish(String topic, String key, Object payload) {
+                assertEquals(PowerAlerts.TOPIC, topic);
+                sent.add((PowerAlert) payload);
+            }
+        };
+        alerts = new PowerAlerts(coalescer, null);
+        ReflectionTestUtils.setField(alerts, "enabled", true);
+        ReflectionTestUtils.setField(alerts, "max", Double.NaN);
+        ReflectionTestUtils.setField(alerts, "min", Double.NaN);
+        ReflectionTestUtils.setField(alerts, "window", 3600);
+        ReflectionTestUtils.setField(alerts, "warmup", 60);
+        ReflectionTestUtils.setField(alerts, "z", 4.0);
+        ReflectionTestUtils.setField(alerts, "ewmaAlpha", 0.1);
+        ReflectionTestUtils.setField(alerts, "ewmaK", 5.0);
+        ReflectionTestUtils.setField(alerts, "minSd", 0.01);
+        ReflectionTestUtils.setField(alerts, "minSdRatio", 0.01);
+        ReflectionTestUtils.setField(alerts, "silenceMs", 60_000L);
+        ReflectionTestUtils.setField(alerts, "maxMeters", 2);
+    }
+
+    @Test
+    void thresholdFiresAndResolvesOncePerTransition() {
+        ReflectionTestUtils.setField(alerts, "max", 100.0);
+
+        alerts.onSample("m", 1, 50);
+        alerts.onSample("m", 2, 150);
+        alerts.onSample("m", 3, 160);
+        alerts.onSample("m", 4, 170);
+        alerts.onSample("m", 5, 50);
+        alerts.onSample("m", 6, 40);
+
+        assertEquals(2, sent.size());
+        assertEquals(PowerAlert.Rule.THRESHOLD, sent.get(0).getRule());
+        assertEquals(PowerAlert.State.FIRING, sent.get(0).getState());
+        assertEquals(2, sent.get(0).getTime());
+        assertEquals(PowerAlert.State.RESOLVED, sent.get(1).getState());
+        assertEquals(5, sent.get(1).getTime());
+        assertTrue(alerts.active().isEmpty());
+    }
+
+    @Test
+    void statisticalRulesWaitForWarmup() {
+        for (int i = 0; i < 59; i++) {
+            alerts.onSample("m", i, 10 + (i % 2));
+        }
+        alerts.onSample("m", 59, 10_000);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void zscoreFiresAfterWarmup() {
+        for (int i = 0; i < 100; i++) {
+            alerts.onSample("m", i, 10 + (i % 2));
+        }
+        alerts.onSample("m", 100, 10_000);
+
+        assertTrue(sent.stream().anyMatch(a -> a.getRule() == PowerAlert.Rule.ZSCORE && a.getState() == PowerAlert.State.FIRING));
+        assertEquals(1, sent.stream().filter(a -> a.getRule() == PowerAlert.Rule.ZSCORE).count());
+    }
+
+    @Test
+    void spikeAfterConstantValuesFires() {
+        for (int i = 0; i < 100; i++) {
+            alerts.onSample("m", i, 10);
+        }
+        // 평균의 1% 보다 작은 변화는 조용하다
+        alerts.onSample("m", 100, 10.05);
+        assertTrue(sent.isEmpty());
+
+        alerts.onSample("m", 101, 20);
+        assertTrue(sent.stream().anyMatch(a -> a.getRule() == PowerAlert.Rule.ZSCORE && a.getState() == PowerAlert.State.FIRING));
+        assertTrue(sent.stream().anyMatch(a -> a.getRule() == PowerAlert.Rule.EWMA && a.getState() == PowerAlert.State.FIRING));
+    }
+
+    @Test
+    void nonFiniteValuesAreIgnored() {
+        ReflectionTestUtils.setField(alerts, "max", 100.0);
+        for (int i = 0; i < 100; i++) {
+            alerts.onSample("m", i, 10 + (i % 2));
+        }
+        alerts.onSample("m", 100, Double.POSITIVE_INFINITY);
+        alerts.onSample("m", 101, Double.NEGATIVE_INFINITY);
+        alerts.onSample("m", 102, Double.NaN);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void silenceFiresOnceAndResolvesOnNextSample() {
+        alerts.onSample("m", 1, 10);
+        alerts.checkSilence();
+        assertTrue(sent.isEmpty());
+
+        ReflectionTestUtils.setField(alerts, "silenceMs", 0L);
+        alerts.checkSilence();
+        alerts.checkSilence();
+        assertEquals(1, sent.size());
+        assertEquals(PowerAlert.Rule.SILENCE, sent.get(0).getRule());
+        assertEquals(PowerAlert.State.FIRING, sent.get(0).getState());
+
+        alerts.onSample("m", 2, 10);
+        assertEquals(2, sent.size());
+        assertEquals(PowerAlert.State.RESOLVED, sent.get(1).getState());
+    }
+
+    @Test
+    void seededMeterGoesSilentWithoutSamples() {
+        alerts.seed("dead", new PowerSample("dead", 1234, 5.5));
+        alerts.checkSilence();
+        assertTrue(sent.isEmpty());
+
+        ReflectionTestUtils.setField(alerts, "silenceMs", 0L);
+        alerts.checkSilence();
+        assertEquals(1, sent.size());
+        assertEquals("dead", sent.get(0).getMeter());
+        assertEquals(PowerAlert.Rule.SILENCE, sent.get(0).getRule());
+        assertEquals(1234, sent.get(0).getTime());
+        assertEquals(5.5, sent.get(0).getValue());
+    }
+
+    @Test
+    void metersOverLimitAreNotTracked() {
+        ReflectionTestUtils.setField(alerts, "max", 100.0);
+        alerts.onSample("m1", 1, 150);
+        alerts.onSample("m2", 1, 150);
+        alerts.onSample("m3", 1, 150);
+        alerts.seed("m4", null);
+
+        assertEquals(2, sent.size());
+        assertTrue(sent.stream().noneMatch(a -> a.getMeter().equals("m3")));
+        ReflectionTestUtils.setField(alerts, "silenceMs", 0L);
+        alerts.checkSilence();
+        assertTrue(sent.stream().noneMatch(a -> a.getMeter().equals("m4")));
+    }
+}
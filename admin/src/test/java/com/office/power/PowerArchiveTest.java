@@ -0,0 +1,119 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PowerArchiveTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() throws Exception {
+        Random random = new Random(42);
+        int n = 10_000;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        long t = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            // 1초 간격 + 지터, 같은 시각, 큰 공백이 섞인 시각
+            t += i % 997 == 0 ? 86_400_000L : i % 101 == 0 ? 0 : 1000 + random.nextInt(40) - 20;
+            times[i] = t;
+            values[i] = switch (i % 500) {
+                case 1 -> Double.NaN;
+                case 2 -> -0.0;
+                case 3 -> Double.MAX_VALUE;
+                case 4 -> Double.MIN_VALUE;
+                default -> Math.round((220 + random.nextGaussian()) * 100) / 100.0;
+            };
+        }
+        PowerSegment segment = segment("0.seg", times, values);
+        Path gor = dir.resolve("0.gor");
+        PowerArchive.write(gor, segment, 1000);
+
+        try (PowerArchive archive = PowerArchive.open(gor)) {
+            assertEquals(n, archive.count());
+            assertEquals(10, archive.blockCount());
+            assertEquals(times[0], archive.firstTime());
+            assertEquals(times[n - 1], archive.lastTime());
+            int[] i = {0};
+            archive.scan(Long.MIN_VALUE, Long.MAX_VALUE, (time, value) -> {
+                assertEquals(times[i[0]], time);
+                assertEquals(Double.doubleToRawLongBits(values[i[0]]), Double.doubleToRawLongBits(value));
+                i[0]++;
+                return true;
+            });
+            assertEquals(n, i[0]);
+        }
+        segment.close();
+    }
+
+    @Test
+    void rangeSkipsBlocks() throws Exception {
+        int n = 5000;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = 1000L * i;
+            values[i] = i;
+        }
+        PowerSegment segment = segment("1.seg", times, values);
+        Path gor = dir.resolve("1.gor");
+        PowerArchive.write(gor, segment, 1024);
+        segment.close();
+
+        try (PowerArchive archive = PowerArchive.open(gor)) {
+            List<Long> read = new ArrayList<>();
+            archive.scan(2047_000, 2050_000, (time, value) -> read.add(time));
+            assertEquals(List.of(2047_000L, 2048_000L, 2049_000L, 2050_000L), read);
+            read.clear();
+            archive.scan(n * 1000L, Long.MAX_VALUE, (time, value) -> read.add(time));
+            assertTrue(read.isEmpty());
+            // 블록 중간에서 멈춘다
+            assertFalse(archive.scan(0, Long.MAX_VALUE, (time, value) -> read.add(time) && read.size() < 1500));
+            assertEquals(1500, read.size());
+        }
+    }
+
+    @Test
+    void compressesSteadySamples() throws Exception {
+        // 1Hz, 값이 천천히 변하는 전력 데이터는 원본(16B/건)보다 훨씬 작아야 한다
+        Random random = new Random(7);
+        int n = 86_400;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        double v = 3.5;
+        for (int i = 0; i < n; i++) {
+            times[i] = 1_700_000_000_000L + 1000L * i;
+            if (random.nextInt(10) == 0) {
+                v = Math.round((v + random.nextGaussian() * 0.1) * 100) / 100.0;
+            }
+            values[i] = v;
+        }
+        PowerSegment segment = segment("2.seg", times, values);
+        Path gor = dir.resolve("2.gor");
+        PowerArchive.write(gor, segment, 4096);
+        segment.close();
+
+        double bytesPerSample = (double) Files.size(gor) / n;
+        assertTrue(bytesPerSample < 2, "bytes/sample " + bytesPerSample);
+    }
+
+    private PowerSegment segment(String name, long[] times, double[] values) throws Exception {
+        PowerSegment segment = PowerSegment.create(dir.resolve(name), times.length);
+        for (int i = 0; i < times.length; i++) {
+            segment.append(times[i], values[i]);
+        }
+        segment.seal();
+        return segment;
+    }
+}
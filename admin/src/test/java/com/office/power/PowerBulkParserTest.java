@@ -0,0 +1,120 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PowerBulkParserTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final List<String> read = new ArrayList<>();
+
+    private PowerBulkParser parser(byte[] body, int batchSize) {
+        return new PowerBulkParser(new ByteArrayInputStream(body), "power", NOW, Long.MAX_VALUE, Long.MAX_VALUE,
+                meter -> Long.MIN_VALUE, new PowerBatch(batchSize), batch -> {
+            for (int i = 0; i < batch.getSize(); i++) {
+                read.add(batch.getMeters()[i] + "," + batch.getTimes()[i] + "," + batch.getValues()[i]);
+            }
+        });
+    }
+
+    private PowerBulkParser json(String body, int batchSize) throws Exception {
+        PowerBulkParser parser = parser(body.getBytes(StandardCharsets.UTF_8), batchSize);
+        parser.json();
+        return parser;
+    }
+
+    @Test
+    void jsonArray() throws Exception {
+        PowerBulkParser parser = json("[{\"meter\":\"m1\",\"t\":1700000000123,\"v\":1.5},"
+                + " {\"v\": -2.25e1, \"extra\": {\"a\": [1, \"x\"]}},"
+                + " {\"meter\":\"bad meter\",\"v\":1}, {\"t\":1}]", 2);
+        assertEquals(List.of("m1,1700000000123,1.5", "power,1700000000000,-22.5"), read);
+        assertEquals(2, parser.getRejected());
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        json("{\"m\":\"a\",\"value\":0.1}\n{\"m\":\"a\",\"value\":123456789.123456789}\n{\"timestamp\":5,\"v\":7}\n", 16);
+        assertEquals(List.of("a," + NOW + ",0.1", "a," + NOW + ",1.2345678912345679E8", "power,5,7.0"), read);
+    }
+
+    @Test
+    void emptyAndMalformed() throws Exception {
+        json("[]", 4);
+        json("", 4);
+        assertEquals(0, read.size());
+        assertThrows(IllegalArgumentException.class, () -> json("[{\"v\":1},]", 4));
+        assertThrows(IllegalArgumentException.class, () -> json("[{\"v\":1}", 4));
+        assertThrows(IllegalArgumentException.class, () -> json("{\"v\":x}", 4));
+    }
+
+    @Test
+    void nonNumericValueIsRejected() throws Exception {
+        // "meter": null 과 같게 항목만 버리고 나머지는 계속 읽는다
+        PowerBulkParser parser = json("[{\"v\":null},{\"v\":\"1.5\"},{\"t\":null,\"v\":1},{\"v\":true},{\"v\":2}]", 4);
+        assertEquals(List.of("power," + NOW + ",2.0"), read);
+        assertEquals(4, parser.getRejected());
+    }
+
+    @Test
+    void timeOutsideWindowIsRejected() throws Exception {
+        byte[] body = ("[{\"t\":" + Long.MAX_VALUE + ",\"v\":1},{\"t\":" + (NOW + 61_000) + ",\"v\":2},"
+                + "{\"t\":" + (NOW - 3_600_001) + ",\"v\":3},{\"t\":" + (NOW - 3_600_000) + ",\"v\":4},{\"v\":5}]")
+                .getBytes(StandardCharsets.UTF_8);
+        PowerBulkParser parser = new PowerBulkParser(new ByteArrayInputStream(body), "power", NOW, 3_600_000, 60_000,
+                meter -> Long.MIN_VALUE, new PowerBatch(4), batch -> {
+            for (int i = 0; i < batch.getSize(); i++) {
+                read.add(batch.getTimes()[i] + "," + batch.getValues()[i]);
+            }
+        });
+        parser.json();
+        assertEquals(List.of((NOW - 3_600_000) + ",4.0", NOW + ",5.0"), read);
+        assertEquals(3, parser.getRejected());
+    }
+
+    @Test
+    void timeBeforeStoredOrPreviousSampleIsRejected() throws Exception {
+        byte[] body = ("[{\"t\":" + (NOW - 2_000) + ",\"v\":1},{\"t\":" + (NOW - 500) + ",\"v\":2},"
+                + "{\"t\":" + (NOW - 800) + ",\"v\":3},{\"meter\":\"m2\",\"t\":" + (NOW - 2_000) + ",\"v\":4},{\"t\":" + (NOW - 500) + ",\"v\":5}]")
+                .getBytes(StandardCharsets.UTF_8);
+        // power 는 NOW - 1000 까지 저장되어 있고 m2 는 비어 있다
+        PowerBulkParser parser = new PowerBulkParser(new ByteArrayInputStream(body), "power", NOW, 3_600_000, 60_000,
+                meter -> meter.equals("power") ? NOW - 1_000 : Long.MIN_VALUE, new PowerBatch(4), batch -> {
+            for (int i = 0; i < batch.getSize(); i++) {
+                read.add(batch.getMeters()[i] + "," + batch.getTimes()[i]);
+            }
+        });
+        parser.json();
+        assertEquals(List.of("power," + (NOW - 500), "m2," + (NOW - 2_000), "power," + (NOW - 500)), read);
+        assertEquals(2, parser.getRejected());
+    }
+
+    @Test
+    void binary() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(2);
+        out.writeBytes("m1");
+        out.writeLong(10);
+        out.writeDouble(1.25);
+        out.writeByte(0);
+        out.writeLong(0);
+        out.writeDouble(3);
+        PowerBulkParser parser = parser(bytes.toByteArray(), 1);
+        parser.binary();
+        assertEquals(List.of("m1,10,1.25", "power," + NOW + ",3.0"), read);
+
+        out.writeByte(1);
+        assertThrows(IllegalArgumentException.class, () -> parser(bytes.toByteArray(), 1).binary());
+    }
+
+}
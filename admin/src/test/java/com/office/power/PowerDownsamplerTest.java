@@ -0,0 +1,70 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PowerDownsamplerTest {
+
+    private PowerPoints sine(int n) {
+        long[] t = new long[n];
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = i * 1000L;
+            v[i] = Math.sin(i / 100.0);
+        }
+        v[n / 2] = 10; // 스파이크
+        return new PowerPoints(t, v, n);
+    }
+
+    @Test
+    void lttbKeepsEndpointsAndSpike() {
+        PowerPoints points = sine(86400);
+        PowerPoints result = PowerDownsampler.lttb(points, 500);
+        assertEquals(500, result.getSize());
+        assertEquals(0L, result.time(0));
+        assertEquals(points.time(86399), result.time(499));
+        boolean spike = false;
+        for (int i = 0; i < result.getSize(); i++) {
+            spike |= result.value(i) == 10;
+        }
+        assertTrue(spike);
+    }
+
+    @Test
+    void minMaxStaysWithinLimitAndOrdered() {
+        PowerPoints result = PowerDownsampler.minMax(sine(10000), 200);
+        assertTrue(result.getSize() <= 200);
+        for (int i = 1; i < result.getSize(); i++) {
+            assertTrue(result.time(i - 1) <= result.time(i));
+        }
+    }
+
+    @Test
+    void smallInputIsUntouched() {
+        PowerPoints points = sine(100);
+        assertEquals(100, PowerDownsampler.downsample(points, 500, PowerDownsampler.Mode.AVG).getSize());
+        assertEquals(50, PowerDownsampler.downsample(points, 50, PowerDownsampler.Mode.AVG).getSize());
+    }
+
+    @Test
+    void tinyLimitsAreHonoured() {
+        PowerPoints points = sine(1000);
+        for (PowerDownsampler.Mode mode : PowerDownsampler.Mode.values()) {
+            for (int max = 1; max <= 3; max++) {
+                assertTrue(PowerDownsampler.downsample(points, max, mode).getSize() <= max, mode + " " + max);
+            }
+        }
+        PowerPoints two = PowerDownsampler.lttb(points, 2);
+        assertEquals(points.time(0), two.time(0));
+        assertEquals(points.time(999), two.time(1));
+    }
+
+    @Test
+    void unknownModeIsNull() {
+        assertEquals(PowerDownsampler.Mode.MINMAX, PowerDownsampler.Mode.of("MinMax"));
+        assertNull(PowerDownsampler.Mode.of("median"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PowerRangeWriterTest {
+
+    private String write(PowerRangeWriter.Format format, long step, long[] t, double[] v) throws Exception {
+        StringWriter out = new StringWriter();
+        PowerRangeWriter writer = new PowerRangeWriter(out, format, step);
+        writer.start();
+        for (int i = 0; i < t.length; i++) {
+            writer.accept(t[i], v[i]);
+        }
+        writer.finish();
+        return out.toString();
+    }
+
+    @Test
+    void rawJson() throws Exception {
+        String json = write(PowerRangeWriter.Format.JSON, 0, new long[]{1000, 2000}, new double[]{1.5, Double.NaN});
+        assertEquals("[{\"t\":1000,\"v\":1.5},{\"t\":2000,\"v\":null}]", json);
+        assertEquals("[]", write(PowerRangeWriter.Format.JSON, 0, new long[0], new double[0]));
+    }
+
+    @Test
+    void bucketedCsv() throws Exception {
+        // 60초 단위로 묶기. 마지막 버킷도 finish 에서 나온다
+        String csv = write(PowerRangeWriter.Format.CSV, 60_000,
+                new long[]{0, 30_000, 59_999, 60_000, 125_000},
+                new double[]{1, 3, 2, 10, 4});
+        assertEquals("time,min,max,avg,count\n"
+                + "0,1.0,3.0,2.0,3\n"
+                + "60000,10.0,10.0,10.0,1\n"
+                + "120000,4.0,4.0,4.0,1\n", csv);
+    }
+
+    @Test
+    void formatOf() {
+        assertEquals(PowerRangeWriter.Format.JSON, PowerRangeWriter.Format.of(null));
+        assertEquals(PowerRangeWriter.Format.CSV, PowerRangeWriter.Format.of(" csv "));
+        assertNull(PowerRangeWriter.Format.of("xml"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PowerSegmentTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendAndSearch() throws Exception {
+        Path file = dir.resolve("0.seg");
+        int n = 5000;
+        try (PowerSegment segment = PowerSegment.create(file, n)) {
+            for (int i = 0; i < n; i++) {
+                assertTrue(segment.append(1000L * i, i * 0.5));
+            }
+            assertFalse(segment.append(0, 0));
+            assertTrue(segment.isFull());
+
+            // 인덱스 블록 경계 (1024) 근처와 범위 밖
+            assertEquals(0, segment.lowerBound(Long.MIN_VALUE));
+            assertEquals(1024, segment.lowerBound(1024_000));
+            assertEquals(1025, segment.lowerBound(1024_001));
+            assertEquals(1025, segment.upperBound(1024_000));
+            assertEquals(n, segment.lowerBound(Long.MAX_VALUE));
+
+            List<Long> read = new ArrayList<>();
+            assertTrue(segment.scan(2000_000, 2009_000, (t, v) -> read.add(t)));
+            assertEquals(10, read.size());
+            assertEquals(2000_000L, (long) read.get(0));
+            // visitor 가 false 를 돌려주면 멈춘다
+            read.clear();
+            assertFalse(segment.scan(0, Long.MAX_VALUE, (t, v) -> read.add(t) && read.size() < 3));
+            assertEquals(3, read.size());
+        }
+
+        // 다시 열면 레코드와 인덱스가 그대로다
+        try (PowerSegment segment = PowerSegment.open(file)) {
+            assertEquals(n, segment.count());
+            assertEquals(4999_000, segment.lastTime());
+            assertEquals(3000, segment.lowerBound(3000_000));
+        }
+    }
+
+    @Test
+    void sealedSegmentRejectsAppend() throws Exception {
+        try (PowerSegment segment = PowerSegment.create(dir.resolve("1.seg"), 10)) {
+            assertTrue(segment.append(100, 1));
+            assertTrue(segment.append(100, 2));
+            assertEquals(100, segment.time(1));
+            segment.seal();
+            assertFalse(segment.append(200, 3));
+        }
+    }
+
+    @Test
+    void fileGrowsOnDemand() throws Exception {
+        Path file = dir.resolve("2.seg");
+        int capacity = PowerSegment.INITIAL_RECORDS * 3;
+        try (PowerSegment segment = PowerSegment.create(file, capacity)) {
+            assertEquals(PowerSegment.HEADER + (long) PowerSegment.INITIAL_RECORDS * PowerSegment.RECORD, Files.size(file));
+            for (int i = 0; i < capacity; i++) {
+                assertTrue(segment.append(i, i));
+            }
+            assertTrue(segment.isFull());
+            assertEquals(PowerSegment.HEADER + (long) capacity * PowerSegment.RECORD, Files.size(file));
+            assertEquals(5000.0, segment.value(5000));
+        }
+        try (PowerSegment segment = PowerSegment.open(file)) {
+            assertEquals(capacity, segment.count());
+            assertEquals(capacity - 1, segment.lastTime());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PowerSeriesTest {
+
+    @Test
+    void overwritesOldestWhenFull() {
+        PowerSeries series = new PowerSeries("power", 4);
+        for (int i = 1; i <= 6; i++) {
+            series.append(i * 1000L, i);
+        }
+        PowerPoints all = series.all();
+        assertEquals(4, all.getSize());
+        assertEquals(3000L, all.time(0));
+        assertEquals(6.0, all.value(3));
+        assertEquals(6000L, series.lastTime());
+    }
+
+    @Test
+    void rangeUsesInclusiveBounds() {
+        PowerSeries series = new PowerSeries("power", 8);
+        for (int i = 1; i <= 10; i++) {
+            series.append(i * 1000L, i);
+        }
+        PowerPoints range = series.range(4000L, 7000L);
+        assertEquals(4, range.getSize());
+        assertEquals(4.0, range.value(0));
+        assertEquals(7.0, range.value(3));
+        assertEquals(0, series.range(20000L, 30000L).getSize());
+    }
+
+    @Test
+    void rejectsTimeBeforeLast() {
+        PowerSeries series = new PowerSeries("power", 8);
+        assertTrue(series.append(2000L, 2));
+        assertFalse(series.append(1000L, 1));
+        assertTrue(series.append(2000L, 3));
+        PowerPoints all = series.all();
+        assertEquals(2, all.getSize());
+        assertEquals(2000L, all.time(0));
+        assertEquals(3.0, all.value(1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollupTierTest {
+
+    @Test
+    void aggregatesPerMinuteAndRegroupsByStep() {
+        RollupTier minute = new RollupTier(PowerRollups.MINUTE, 10);
+        // 3분 동안 1초마다 0..179
+        for (int i = 0; i < 180; i++) {
+            minute.add(i * 1000L, i);
+        }
+        PowerBuckets perMinute = new PowerBuckets(PowerRollups.MINUTE, 10);
+        minute.query(0, Long.MAX_VALUE, perMinute);
+        assertEquals(3, perMinute.getSize());
+        assertEquals(60, perMinute.getCount()[1]);
+        assertEquals(60.0, perMinute.getMin()[1]);
+        assertEquals(119.0, perMinute.getMax()[1]);
+        assertEquals(89.5, perMinute.avg(1));
+
+        PowerBuckets perThree = new PowerBuckets(3 * PowerRollups.MINUTE, 10);
+        minute.query(0, Long.MAX_VALUE, perThree);
+        assertEquals(1, perThree.getSize());
+        assertEquals(180, perThree.getCount()[0]);
+    }
+
+    @Test
+    void dropsOldestBucketsWhenFull() {
+        RollupTier minute = new RollupTier(PowerRollups.MINUTE, 2);
+        for (int m = 0; m < 5; m++) {
+            minute.add(m * PowerRollups.MINUTE, m);
+        }
+        assertEquals(3 * PowerRollups.MINUTE, minute.oldest());
+    }
+
+    @Test
+    void lateSampleGoesToItsOwnBucketOrIsDropped() {
+        RollupTier minute = new RollupTier(PowerRollups.MINUTE, 3);
+        minute.add(0, 1);
+        minute.add(2 * PowerRollups.MINUTE, 2);
+        minute.add(3 * PowerRollups.MINUTE, 3);
+        // 0분 버킷은 아직 링에 있다
+        minute.add(30_000, 5);
+        // 1분 버킷은 만들어진 적이 없고, 4분이 열리면 0분 버킷은 밀려난다
+        minute.add(PowerRollups.MINUTE + 1, 7);
+        minute.add(4 * PowerRollups.MINUTE, 4);
+        minute.add(10_000, 9);
+
+        PowerBuckets out = new PowerBuckets(PowerRollups.MINUTE, 10);
+        minute.query(0, Long.MAX_VALUE, out);
+        assertEquals(3, out.getSize());
+        assertEquals(2 * PowerRollups.MINUTE, out.getTimes()[0]);
+        assertEquals(1, out.getCount()[0]);
+        assertEquals(3.0, out.getMax()[1]);
+        assertEquals(2, minute.getDropped());
+
+        RollupTier kept = new RollupTier(PowerRollups.MINUTE, 3);
+        kept.add(0, 1);
+        kept.add(PowerRollups.MINUTE, 2);
+        kept.add(30_000, 5);
+        PowerBuckets first = new PowerBuckets(PowerRollups.MINUTE, 10);
+        kept.query(0, 0, first);
+        assertEquals(2, first.getCount()[0]);
+        assertEquals(5.0, first.getMax()[0]);
+        assertEquals(1, first.getSize());
+        assertEquals(0, kept.getDropped());
+    }
+
+    @Test
+    void stepIsAlignedAndBucketsAreCounted() {
+        assertEquals(PowerRollups.HOUR, PowerRollups.effectiveStep(90 * PowerRollups.MINUTE));
+        assertEquals(2 * PowerRollups.MINUTE, PowerRollups.effectiveStep(150_000));
+        assertEquals(5_000, PowerRollups.effectiveStep(5_000));
+        // 정렬된 step 기준: 0..3h 를 1시간으로 나누면 4개 (양 끝 포함)
+        assertEquals(4, PowerRollups.bucketCount(0, 3 * PowerRollups.HOUR, 90 * PowerRollups.MINUTE));
+        assertEquals(Long.MAX_VALUE, PowerRollups.bucketCount(Long.MIN_VALUE, Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    void overflowingBucketsAreReported() {
+        PowerBuckets buckets = new PowerBuckets(1000, 2);
+        buckets.add(0, 1, 1, 1, 1);
+        buckets.add(1000, 1, 1, 1, 1);
+        assertFalse(buckets.isTruncated());
+        buckets.add(2000, 1, 1, 1, 1);
+        assertEquals(2, buckets.getSize());
+        assertTrue(buckets.isTruncated());
+    }
+}
@@ -0,0 +1,57 @@
+package com.office.power;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunningStatsTest {
+
+    @Test
+    void matchesTwoPassMeanAndStddev() {
+        double[] xs = {3, 5, 7, 7, 9, 1e9 + 1, 1e9 + 3};
+        RunningStats stats = new RunningStats(100);
+        double sum = 0;
+        for (double x : xs) {
+            stats.add(x);
+            sum += x;
+        }
+        double mean = sum / xs.length;
+        double ss = 0;
+        for (double x : xs) {
+            ss += (x - mean) * (x - mean);
+        }
+        assertEquals(xs.length, stats.count());
+        assertEquals(mean, stats.mean(), 1e-6);
+        assertEquals(Math.sqrt(ss / (xs.length - 1)), stats.stddev(), 1e-6);
+    }
+
+    @Test
+    void followsLevelShiftWithinWindow() {
+        // 값이 10 -> 50 으로 바뀌면 몇 window 뒤에는 새 값에 맞춰진다
+        RunningStats stats = new RunningStats(100);
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            stats.add(10 + random.nextGaussian());
+        }
+        assertTrue(Math.abs(stats.zscore(50)) > 10);
+        for (int i = 0; i < 1000; i++) {
+            stats.add(50 + random.nextGaussian());
+        }
+        assertEquals(50, stats.mean(), 1);
+        assertTrue(stats.count() <= 100);
+    }
+
+    @Test
+    void ewmaTracksMeanAndSpread() {
+        Ewma ewma = new Ewma(0.1);
+        Random random = new Random(2);
+        for (int i = 0; i < 2000; i++) {
+            ewma.add(220 + random.nextGaussian());
+        }
+        assertEquals(220, ewma.mean(), 1);
+        assertTrue(ewma.stddev() > 0.5 && ewma.stddev() < 2, "stddev " + ewma.stddev());
+    }
+}
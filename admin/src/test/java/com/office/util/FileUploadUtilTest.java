@@ -0,0 +1,91 @@
+package com.office.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileUploadUtilTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void saveFile() throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024 + 17];
+        new Random(1).nextBytes(data);
+        MockMultipartFile mf = new MockMultipartFile("image", "a.jpg", "image/jpeg", data);
+
+        String hash = FileUploadUtil.saveFile(mf, dir.toString() + "/");
+
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve("a.jpg")));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)), hash);
+        // 임시 파일은 남지 않는다
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void saveHashed() throws Exception {
+        byte[] data = "same image".getBytes();
+        String a = FileUploadUtil.saveHashed(new MockMultipartFile("image", "photo.JPG", "image/jpeg", data), dir.toString() + "/");
+        String b = FileUploadUtil.saveHashed(new MockMultipartFile("image", "other.jpg", "image/jpeg", data), dir.toString() + "/");
+
+        // 같은 내용은 같은 파일 하나로 저장된다
+        assertEquals(a, b);
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)) + ".jpg", a);
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void deleteOnlyHashedNames() throws Exception {
+        String name = FileUploadUtil.saveHashed(new MockMultipartFile("image", "a.png", "image/png", new byte[]{1, 2}), dir.toString() + "/");
+        Files.writeString(dir.resolve("keep.txt"), "x");
+
+        assertThrows(IllegalArgumentException.class, () -> FileUploadUtil.deleteIfExists("../keep.txt", dir.toString() + "/"));
+        assertThrows(IllegalArgumentException.class, () -> FileUploadUtil.deleteIfExists("keep.txt", dir.toString() + "/"));
+        FileUploadUtil.deleteIfExists(name, dir.toString() + "/");
+        assertTrue(Files.exists(dir.resolve("keep.txt")));
+        assertFalse(Files.exists(dir.resolve(name)));
+    }
+
+    @Test
+    void saveFileUsesBaseNameAndRejectsMissingName() throws Exception {
+        byte[] data = {1, 2, 3};
+        FileUploadUtil.saveFile(new MockMultipartFile("image", "C:\\Users\\me\\b.jpg", "image/jpeg", data), dir.toString() + "/");
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve("b.jpg")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FileUploadUtil.saveFile(new MockMultipartFile("image", null, "image/jpeg", data), dir.toString() + "/"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FileUploadUtil.saveFile(new MockMultipartFile("image", "../", "image/jpeg", data), dir.toString() + "/"));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void failedMoveLeavesNoTempFile() throws Exception {
+        Files.createDirectories(dir.resolve("taken").resolve("child"));
+
+        assertThrows(IOException.class,
+                () -> FileUploadUtil.saveFile(new MockMultipartFile("image", "taken", "image/jpeg", new byte[]{1}), dir.toString() + "/"));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.office.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogTailReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsOnlyCompleteLastLine() throws Exception {
+        Path log = dir.resolve("power.log");
+        Files.writeString(log, "2024-01-01 00:00:00, 1.0\n2024-01-01 00:00:01, 2.0\n");
+        LogTailReader reader = new LogTailReader(log);
+        assertEquals("2024-01-01 00:00:01, 2.0", reader.lastLine());
+
+        // 쓰는 중인 줄은 무시
+        append(log, "2024-01-01 00:00:02, 3");
+        assertEquals("2024-01-01 00:00:01, 2.0", reader.lastLine());
+        append(log, ".0\n");
+        assertEquals("2024-01-01 00:00:02, 3.0", reader.lastLine());
+    }
+
+    @Test
+    void followsRollover() throws Exception {
+        Path log = dir.resolve("power.log");
+        Files.writeString(log, "2024-01-01 00:00:00, 1.0\n");
+        LogTailReader reader = new LogTailReader(log);
+        assertEquals("2024-01-01 00:00:00, 1.0", reader.lastLine());
+
+        Files.move(log, dir.resolve("power.2024-01-01.0.log"));
+        Files.writeString(log, "2024-01-02 00:00:00, 5.0\n");
+        assertEquals("2024-01-02 00:00:00, 5.0", reader.lastLine());
+    }
+
+    private void append(Path log, String text) throws Exception {
+        Files.write(log, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
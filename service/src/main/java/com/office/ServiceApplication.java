@@ -1,5 +1,6 @@
 package com.office;
 
+import com.office.config.StartupReport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.PropertySource;
@@ -8,7 +9,9 @@ import org.springframework.context.annotation.PropertySource;
 public class ServiceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(ServiceApplication.class);
+        application.setApplicationStartup(StartupReport.applicationStartup());
+        application.run(args);
     }
 
 }
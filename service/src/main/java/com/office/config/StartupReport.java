@@ -0,0 +1,71 @@
+package com.office.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 기동이 끝나면 BufferingApplicationStartup 에 쌓인 단계별 시간을 로그로 남긴다.
+// 단계 이름별 합계와 가장 오래 걸린 단계(빈 생성 등)를 보여줘서 기동 시간이 늘어난 원인을 찾을 수 있다.
+// admin 과 service 는 따로 빌드되고 공통 모듈이 없어서 같은 파일을 두 곳에 둔다. 고칠 때는 둘 다 같이 고친다.
+@Component
+@Slf4j
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+    // main / ServletInitializer 에서 같이 쓰는 버퍼 크기
+    public static final int CAPACITY = 10000;
+
+    @Value("${app.startup.report-top:15}")
+    private int top;
+
+    public static ApplicationStartup applicationStartup() {
+        return new BufferingApplicationStartup(CAPACITY);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        // 다 읽은 단계는 버퍼에서 비워서, 기동 뒤에 최대 CAPACITY 개의 단계를 계속 들고 있지 않게 한다
+        StartupTimeline timeline = buffering.drainBufferedTimeline();
+        Map<String, Duration> byName = timeline.getEvents().stream()
+                .collect(Collectors.groupingBy(e -> e.getStartupStep().getName(), LinkedHashMap::new,
+                        Collectors.reducing(Duration.ZERO, StartupTimeline.TimelineEvent::getDuration, Duration::plus)));
+
+        StringBuilder report = new StringBuilder();
+        report.append("Startup ").append(event.getTimeTaken().toMillis()).append(" ms, ")
+                .append(timeline.getEvents().size()).append(" steps");
+        report.append("\n  by step:");
+        byName.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .limit(top)
+                .forEach(e -> report.append("\n    ").append(e.getValue().toMillis()).append(" ms  ").append(e.getKey()));
+        report.append("\n  slowest:");
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .forEach(e -> report.append("\n    ").append(e.getDuration().toMillis()).append(" ms  ")
+                        .append(e.getStartupStep().getName()).append(tags(e.getStartupStep())));
+        log.info(report.toString());
+    }
+
+    private String tags(StartupStep step) {
+        StringBuilder tags = new StringBuilder();
+        for (StartupStep.Tag tag : step.getTags()) {
+            tags.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        return tags.toString();
+    }
+}